@@ -0,0 +1,40 @@
+package io.quarkus.code.config;
+
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+@ConfigMapping(prefix = "io.quarkus.code.archive-cache")
+public interface ArchiveCacheConfig {
+
+    /**
+     * Serve identical project archives from memory instead of generating them again
+     */
+    @WithDefault("true")
+    boolean enabled();
+
+    /**
+     * Maximum total size of the cached archives, the least recently used are evicted first
+     */
+    @WithDefault("64M")
+    MemorySize maxSize();
+
+    /**
+     * Archives bigger than this are never cached
+     */
+    @WithDefault("1M")
+    MemorySize maxEntrySize();
+
+    /**
+     * Generate the archives of the presets and of the most popular configurations in the background after each catalog
+     * reload (it takes its permits from the downloads concurrency limit)
+     */
+    @WithDefault("false")
+    boolean warmUp();
+
+    /**
+     * Number of most popular configurations generated during the warm-up
+     */
+    @WithDefault("20")
+    int warmUpTopConfigurations();
+}
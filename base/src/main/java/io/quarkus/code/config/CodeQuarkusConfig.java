@@ -1,5 +1,6 @@
 package io.quarkus.code.config;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +29,11 @@ public interface CodeQuarkusConfig {
     @WithDefault(value = "true")
     boolean useDefaultPresets();
 
+    /**
+     * How long browsers and CDNs may reuse the catalog responses (extensions, streams, platforms, presets) before
+     * revalidating them
+     */
+    @WithDefault(value = "60s")
+    Duration catalogMaxAge();
+
 }
@@ -0,0 +1,28 @@
+package io.quarkus.code.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "io.quarkus.code.concurrency")
+public interface ConcurrencyConfig {
+
+    /**
+     * Maximum number of projects generated concurrently for downloads
+     */
+    @WithDefault("64")
+    int downloads();
+
+    /**
+     * Maximum number of concurrent pushes to GitHub
+     */
+    @WithDefault("16")
+    int github();
+
+    /**
+     * How long a request waits for its turn before being rejected with a 503
+     */
+    @WithDefault("30s")
+    Duration acquireTimeout();
+}
@@ -0,0 +1,22 @@
+package io.quarkus.code.config;
+
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.nio.file.Path;
+
+@ConfigMapping(prefix = "io.quarkus.code.generation")
+public interface GenerationConfig {
+
+    /**
+     * Generate downloaded projects in a memory backed directory instead of the default temporary directory
+     */
+    @WithDefault("false")
+    boolean inMemory();
+
+    /**
+     * The memory backed (tmpfs) directory used when in-memory generation is enabled
+     */
+    @WithDefault("/dev/shm")
+    Path inMemoryDir();
+}
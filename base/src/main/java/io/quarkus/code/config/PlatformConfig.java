@@ -1,8 +1,11 @@
 package io.quarkus.code.config;
 
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
 
 @ConfigMapping(prefix = "io.quarkus.code.quarkus-platforms")
@@ -13,4 +16,32 @@ public interface PlatformConfig {
 
     @WithName("registry-id")
     Optional<String> getRegistryId();
+
+    /**
+     * Maximum number of streams resolved (or checked) concurrently during a reload
+     */
+    @WithName("reload-parallelism")
+    @WithDefault("4")
+    int getReloadParallelism();
+
+    /**
+     * Maximum time to wait for a stream to be resolved (or checked), the reload fails if exceeded
+     */
+    @WithName("stream-timeout")
+    @WithDefault("2m")
+    Duration getStreamTimeout();
+
+    /**
+     * When set, the resolved catalogs are saved to this file after each reload and loaded from it on startup (the
+     * registry is then queried in the background)
+     */
+    @WithName("snapshot-file")
+    Optional<Path> getSnapshotFile();
+
+    /**
+     * When set, the catalogs are read from this directory (or snapshot archive) instead of the registry, see
+     * {@link io.quarkus.code.service.PlatformCacheSnapshot} for the layout
+     */
+    @WithName("offline-catalog")
+    Optional<Path> getOfflineCatalog();
 }
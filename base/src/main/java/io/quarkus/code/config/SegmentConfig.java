@@ -1,6 +1,11 @@
 package io.quarkus.code.config;
 
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.OptionalInt;
 
@@ -12,6 +17,64 @@ public interface SegmentConfig {
 
     OptionalInt flushIntervalSeconds();
 
+    /**
+     * Maximum number of requests waiting to be processed, the events of the requests beyond are dropped
+     */
+    @WithDefault("10000")
+    int queueSize();
+
+    /**
+     * Maximum number of requests processed in a row before checking for shutdown and reporting drops
+     */
+    @WithDefault("100")
+    int batchSize();
+
+    /**
+     * Count the events locally and send them as rollups (with a "count" property) instead of sending each event
+     */
+    @WithDefault("false")
+    boolean aggregate();
+
+    /**
+     * How often the rollups are sent when aggregating
+     */
+    String aggregationFlushEvery();
+
+    /**
+     * Maximum number of distinct rollups between two flushes, the events beyond are dropped
+     */
+    @WithDefault("10000")
+    int aggregationMaxKeys();
+
+    /**
+     * Write the events to a local spool in this directory, they are sent to Segment from there and survive an outage or
+     * a restart
+     */
+    Optional<Path> spoolDir();
+
+    /**
+     * Size of each spool segment file
+     */
+    @WithDefault("1M")
+    MemorySize spoolSegmentSize();
+
+    /**
+     * Maximum total size of the spool, the oldest events are dropped beyond
+     */
+    @WithDefault("64M")
+    MemorySize spoolMaxSize();
+
+    /**
+     * How often the spool is sent to Segment
+     */
+    String spoolDrainEvery();
+
+    /**
+     * How long to wait for Segment to accept a batch of spooled events before retrying later
+     */
+    @WithDefault("30s")
+    Duration spoolSendTimeout();
+
     default String writeKeyForDisplay() {
         return writeKey().filter(s -> !s.isBlank()).orElse("UNDEFINED");
     }
@@ -0,0 +1,28 @@
+package io.quarkus.code.config;
+
+import io.quarkus.runtime.configuration.MemorySize;
+import io.smallrye.config.ConfigMapping;
+import io.smallrye.config.WithDefault;
+
+import java.time.Duration;
+
+@ConfigMapping(prefix = "io.quarkus.code.workspace")
+public interface WorkspaceConfig {
+
+    /**
+     * How often the sweeper reclaims leaked workspaces
+     */
+    String sweepEvery();
+
+    /**
+     * Workspaces older than this are reclaimed by the sweeper
+     */
+    @WithDefault("10m")
+    Duration maxAge();
+
+    /**
+     * Disk budget for all the workspaces, when exceeded the sweeper reclaims the oldest idle workspaces first
+     */
+    @WithDefault("512M")
+    MemorySize diskBudget();
+}
@@ -18,10 +18,17 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 public class QuarkusExtensionUtils {
 
+    private static final String QUARKUS_PREFIX = "quarkus-";
     private static final List<String> TAG_KEYS = List.of("status", ".+-support", "with");
 
     public static String toShortcut(String id) {
-        return id.replaceFirst("^(?:[^:]+:)?(?:quarkus-)?", "");
+        // Strip the groupId and the "quarkus-" prefix (called for each requested extension, avoid regex here)
+        int colon = id.indexOf(':');
+        int start = colon > 0 ? colon + 1 : 0;
+        if (id.startsWith(QUARKUS_PREFIX, start)) {
+            start += QUARKUS_PREFIX.length();
+        }
+        return start == 0 ? id : id.substring(start);
     }
 
     public static List<CodeQuarkusExtension> processExtensions(ExtensionCatalog catalog,
@@ -0,0 +1,122 @@
+package io.quarkus.code.misc;
+
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.lib.CommitBuilder;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.NullProgressMonitor;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectInserter;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.TreeFormatter;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.PushResult;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
+import org.eclipse.jgit.transport.Transport;
+import org.eclipse.jgit.transport.URIish;
+import org.eclipse.jgit.util.FS;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Pushes a generated project as a single commit built in an in-memory object database (no .git directory is written
+ * and the files are only read once).
+ */
+public class QuarkusProjectGitUtils {
+
+    private static final String COMMIT_MESSAGE = "Initial commit";
+    private static final String AUTHOR_NAME = "quarkusio";
+    private static final String AUTHOR_EMAIL = "no-reply@quarkus.io";
+
+    private QuarkusProjectGitUtils() {
+    }
+
+    public static void push(Path projectDir, String branch, String url, CredentialsProvider credentialsProvider)
+            throws IOException, URISyntaxException {
+        String ref = Constants.R_HEADS + branch;
+        try (Repository repository = new InMemoryRepository.Builder()
+                .setRepositoryDescription(new DfsRepositoryDescription(projectDir.toString()))
+                // Only needed by local transports (file://)
+                .setFS(FS.DETECTED)
+                .build()) {
+            ObjectId commitId = commit(repository, projectDir);
+            RefUpdate refUpdate = repository.updateRef(ref);
+            refUpdate.setNewObjectId(commitId);
+            refUpdate.update();
+            try (Transport transport = Transport.open(repository, new URIish(url))) {
+                transport.setCredentialsProvider(credentialsProvider);
+                PushResult result = transport.push(NullProgressMonitor.INSTANCE,
+                        List.of(new RemoteRefUpdate(repository, ref, ref, false, null, null)));
+                RemoteRefUpdate update = result.getRemoteUpdate(ref);
+                if (update.getStatus() != RemoteRefUpdate.Status.OK
+                        && update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+                    throw new IOException("Push to " + url + " failed: " + update.getStatus() + " "
+                            + update.getMessage());
+                }
+            }
+        }
+    }
+
+    static ObjectId commit(Repository repository, Path projectDir) throws IOException {
+        try (ObjectInserter inserter = repository.newObjectInserter()) {
+            PersonIdent ident = new PersonIdent(AUTHOR_NAME, AUTHOR_EMAIL);
+            ObjectId treeId = insertTree(inserter, projectDir);
+            CommitBuilder commit = new CommitBuilder();
+            // A project without any file is pushed as an empty commit
+            commit.setTreeId(treeId != null ? treeId : inserter.insert(new TreeFormatter()));
+            commit.setAuthor(ident);
+            commit.setCommitter(ident);
+            commit.setMessage(COMMIT_MESSAGE);
+            ObjectId commitId = inserter.insert(commit);
+            inserter.flush();
+            return commitId;
+        }
+    }
+
+    /**
+     * @return the tree id or null if there is no file in the directory (git does not track empty directories)
+     */
+    private static ObjectId insertTree(ObjectInserter inserter, Path dir) throws IOException {
+        List<Path> children;
+        try (Stream<Path> list = Files.list(dir)) {
+            // Git orders the entries by the bytes of their name, directories being compared as if they had a trailing '/'
+            children = list
+                    .filter(path -> !path.getFileName().toString().equals(Constants.DOT_GIT))
+                    .sorted(Comparator.comparing(QuarkusProjectGitUtils::sortKey, Arrays::compareUnsigned))
+                    .toList();
+        }
+        TreeFormatter tree = new TreeFormatter();
+        boolean empty = true;
+        for (Path child : children) {
+            String name = child.getFileName().toString();
+            if (Files.isDirectory(child)) {
+                ObjectId subtree = insertTree(inserter, child);
+                if (subtree != null) {
+                    tree.append(name, FileMode.TREE, subtree);
+                    empty = false;
+                }
+            } else {
+                FileMode mode = Files.isExecutable(child) ? FileMode.EXECUTABLE_FILE : FileMode.REGULAR_FILE;
+                tree.append(name, mode, inserter.insert(Constants.OBJ_BLOB, Files.readAllBytes(child)));
+                empty = false;
+            }
+        }
+        return empty ? null : inserter.insert(tree);
+    }
+
+    private static byte[] sortKey(Path path) {
+        String name = path.getFileName().toString();
+        return (Files.isDirectory(path) ? name + "/" : name).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package io.quarkus.code.misc;
+
+import org.apache.commons.compress.archivers.zip.X5455_ExtendedTimestamp;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipExtraField;
+import org.apache.commons.compress.archivers.zip.ZipLong;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes a generated project directly as a zip stream (same layout and metadata as
+ * {@link io.quarkus.devtools.project.compress.QuarkusProjectCompress}) without going through an intermediate zip file.
+ */
+public class QuarkusProjectZipUtils {
+
+    private static final List<String> EXECUTABLES = List.of("gradlew", "mvnw");
+    private static final int DIR_UNIX_MODE = 040755;
+    private static final int FILE_UNIX_MODE = 0100644;
+    private static final int EXECUTABLE_UNIX_MODE = 0100755;
+
+    private QuarkusProjectZipUtils() {
+    }
+
+    public static void zip(Path projectDir, OutputStream out, long time) throws IOException {
+        // The output stream is owned by the caller (e.g. the HTTP response), closing the archive only finishes it
+        try (ZipArchiveOutputStream zip = new ZipArchiveOutputStream(new NonClosingOutputStream(out));
+                Stream<Path> paths = Files.walk(projectDir)) {
+            paths.forEach(path -> {
+                try {
+                    putEntry(zip, projectDir, path, time);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    private static void putEntry(ZipArchiveOutputStream zip, Path projectDir, Path path, long time) throws IOException {
+        // The project directory is the root of the archive
+        String entryName = projectDir.getParent().relativize(path).toString().replace('\\', '/');
+        boolean directory = Files.isDirectory(path);
+        ZipArchiveEntry entry = new ZipArchiveEntry(directory ? entryName + "/" : entryName);
+        entry.setUnixMode(directory ? DIR_UNIX_MODE : isExecutable(entryName) ? EXECUTABLE_UNIX_MODE : FILE_UNIX_MODE);
+        entry.setTime(time);
+        entry.setExtraFields(new ZipExtraField[] { getTimestamp(time) });
+        zip.putArchiveEntry(entry);
+        if (!directory) {
+            Files.copy(path, zip);
+        }
+        zip.closeArchiveEntry();
+    }
+
+    private static boolean isExecutable(String entryName) {
+        return EXECUTABLES.stream().anyMatch(entryName::endsWith);
+    }
+
+    private static X5455_ExtendedTimestamp getTimestamp(long time) {
+        X5455_ExtendedTimestamp timestamp = new X5455_ExtendedTimestamp();
+        ZipLong seconds = new ZipLong(time / 1000);
+        timestamp.setCreateTime(seconds);
+        timestamp.setModifyTime(seconds);
+        timestamp.setAccessTime(seconds);
+        return timestamp;
+    }
+
+    private static final class NonClosingOutputStream extends OutputStream {
+        private final OutputStream delegate;
+
+        private NonClosingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
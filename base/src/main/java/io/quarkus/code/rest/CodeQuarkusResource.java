@@ -6,12 +6,16 @@ import io.quarkus.code.config.CodeQuarkusConfig;
 import io.quarkus.code.config.GitHubConfig;
 import io.quarkus.code.config.SegmentConfig;
 import io.quarkus.code.model.*;
+import io.quarkus.code.service.CatalogPayload;
+import io.quarkus.code.service.CodeQuarkusMetrics;
+import io.quarkus.code.service.DownloadLimiter;
 import io.quarkus.code.service.PlatformInfo;
 import io.quarkus.code.service.PlatformService;
 import io.quarkus.code.service.QuarkusProjectService;
 import io.quarkus.devtools.commands.data.QuarkusCommandException;
 import io.quarkus.registry.catalog.PlatformCatalog;
-import io.smallrye.common.annotation.Blocking;
+import io.quarkus.vertx.http.Uncompressed;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import io.smallrye.mutiny.Uni;
 import org.apache.http.NameValuePair;
 import org.apache.http.client.utils.URLEncodedUtils;
@@ -27,28 +31,33 @@ import org.jboss.resteasy.reactive.NoCache;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 
-import static java.util.Collections.emptyList;
 import static java.util.function.Predicate.not;
 
 @Path("/")
 public class CodeQuarkusResource {
 
     private static final Logger LOG = Logger.getLogger(CodeQuarkusResource.class.getName());
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss' GMT'");
-    private static final String LAST_MODIFIED_HEADER = "Last-Modified";
 
     @Inject
     private CodeQuarkusConfig config;
@@ -71,6 +80,12 @@ public class CodeQuarkusResource {
     @Inject
     private ManagedExecutor exec;
 
+    @Inject
+    private CodeQuarkusMetrics metrics;
+
+    @Inject
+    DownloadLimiter downloadLimiter;
+
     @GET
     @Path("/config")
     @Produces(MediaType.APPLICATION_JSON)
@@ -95,112 +110,99 @@ public class CodeQuarkusResource {
     @GET
     @Path("/platforms")
     @Produces(MediaType.APPLICATION_JSON)
-    @NoCache
     @Operation(summary = "Get all available platforms")
     @Tag(name = "Platform", description = "Platform related endpoints")
     @APIResponse(responseCode = "200", description = "All available platforms", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = PlatformCatalog.class)))
-    public Uni<Response> platforms() {
-        PlatformCatalog platformCatalog = platformService.platformCatalog();
-        String lastUpdated = platformService.cacheLastUpdated().format(FORMATTER);
-        Response response = Response.ok(platformCatalog)
-                .header(LAST_MODIFIED_HEADER, lastUpdated)
-                .build();
-        return Uni.createFrom().item(response);
+    public Uni<Response> platforms(@Context Request request) {
+        return catalogView(request, "platforms", platformService::platformCatalog);
     }
 
     @GET
     @Path("/streams")
     @Produces(MediaType.APPLICATION_JSON)
-    @NoCache
     @Operation(summary = "Get all available streams")
     @Tag(name = "Platform", description = "Platform related endpoints")
     @APIResponse(responseCode = "200", description = "All available streams", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Stream.class, type = SchemaType.ARRAY)))
-    public Uni<Response> streams() {
-        List<Stream> streamKeys = platformService.streams();
-        String lastUpdated = platformService.cacheLastUpdated().format(FORMATTER);
-        Response response = Response.ok(streamKeys)
-                .header(LAST_MODIFIED_HEADER, lastUpdated)
-                .build();
-        return Uni.createFrom().item(response);
+    public Uni<Response> streams(@Context Request request) {
+        return catalogView(request, "streams", platformService::streams);
     }
 
     @GET
     @Path("/extensions")
     @Produces(MediaType.APPLICATION_JSON)
-    @NoCache
     @Operation(operationId = "extensions", summary = "Get the Quarkus Launcher list of Quarkus extensions")
     @Tag(name = "Extensions", description = "Extension related endpoints")
     @APIResponse(responseCode = "200", description = "List of Quarkus extensions", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = CodeQuarkusExtension.class, type = SchemaType.ARRAY)))
+    @Uncompressed
     public Uni<Response> extensions(
+            @Context Request request,
+            @Context HttpHeaders headers,
             @QueryParam("platformOnly") @DefaultValue("true") boolean platformOnly,
             @QueryParam("id") String extensionId) {
-        List<CodeQuarkusExtension> extensions = platformService.recommendedCodeQuarkusExtensions();
-        return extensions(platformOnly, extensions, extensionId);
+        if (extensionId == null) {
+            return catalogPayload(request, headers, platformService.extensionsPayload(null, platformOnly));
+        }
+        return catalogView(request, "extensions:" + platformOnly + ":" + extensionId,
+                () -> extensions(platformOnly, platformService.recommendedCodeQuarkusExtensions(), extensionId));
     }
 
     @GET
     @Path("/extensions/stream/{streamKey}")
     @Produces(MediaType.APPLICATION_JSON)
-    @NoCache
     @Operation(operationId = "extensionsForStream", summary = "Get the Quarkus Launcher list of Quarkus extensions")
     @Tag(name = "Extensions", description = "Extension related endpoints")
     @APIResponse(responseCode = "200", description = "List of Quarkus extensions for a certain stream", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = CodeQuarkusExtension.class, type = SchemaType.ARRAY)))
+    @Uncompressed
     public Uni<Response> extensionsForStream(
+            @Context Request request,
+            @Context HttpHeaders headers,
             @PathParam("streamKey") String streamKey,
             @QueryParam("platformOnly") @DefaultValue("true") boolean platformOnly,
             @QueryParam("id") String extensionId) {
+        if (extensionId == null) {
+            return catalogPayload(request, headers, platformService.extensionsPayload(streamKey, platformOnly));
+        }
         List<CodeQuarkusExtension> extensions = platformService.codeQuarkusExtensions(streamKey);
-        return extensions(platformOnly, extensions, extensionId);
+        return catalogView(request, "extensions:" + streamKey + ":" + platformOnly + ":" + extensionId,
+                () -> extensions(platformOnly, extensions, extensionId));
     }
 
     @GET
     @Path("/presets")
     @Produces(MediaType.APPLICATION_JSON)
-    @NoCache
     @Operation(operationId = "presets", summary = "Get the Quarkus Launcher list of Presets")
     @Tag(name = "Presets", description = "Preset related endpoints")
     @APIResponse(responseCode = "200", description = "List of Presets", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Preset.class, type = SchemaType.ARRAY)))
-    public Uni<Response> presets() {
-        return presets(platformService.recommendedPlatformInfo().extensionsById());
+    public Uni<Response> presets(@Context Request request) {
+        return catalogView(request, "presets",
+                () -> presets(platformService.recommendedPlatformInfo().extensionsById()));
     }
 
     @GET
     @Path("/presets/stream/{streamKey}")
     @Produces(MediaType.APPLICATION_JSON)
-    @NoCache
     @Operation(operationId = "presetsForStream", summary = "Get the Quarkus Launcher list of Presets")
     @Tag(name = "Presets", description = "Preset related endpoints")
     @APIResponse(responseCode = "200", description = "List of Presets for a certain stream", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = Preset.class, type = SchemaType.ARRAY)))
     public Uni<Response> presetsForStream(
+            @Context Request request,
             @PathParam("streamKey") String streamKey) {
 
         final Map<String, ExtensionRef> extensionsById = platformService.platformInfo(streamKey).extensionsById();
-        return presets(extensionsById);
+        return catalogView(request, "presets:" + streamKey, () -> presets(extensionsById));
     }
 
-    private Uni<Response> presets(Map<String, ExtensionRef> extensionsById) {
-        String lastUpdated = platformService.cacheLastUpdated().format(FORMATTER);
-        final List<Preset> presets = getAllPresets().stream()
+    private List<Preset> presets(Map<String, ExtensionRef> extensionsById) {
+        return getAllPresets().stream()
                 .filter(p -> p.extensions().stream().allMatch(extensionsById::containsKey))
                 .toList();
-        Response response = Response.ok(presets)
-                .header(LAST_MODIFIED_HEADER, lastUpdated)
-                .build();
-        return Uni.createFrom().item(response);
     }
 
     List<Preset> getAllPresets() {
-
-        List<Preset> presets = new ArrayList<>(config.useDefaultPresets() ? platformService.presets() : emptyList());
-
-        config.customPresets().ifPresent(customConfigs -> customConfigs.stream()
-                .map(pc -> new Preset(pc.key(), pc.title(), pc.icon(), pc.extensions()))
-                .forEach(presets::add));
-
-        return presets;
+        return platformService.allPresets();
     }
 
-    private Uni<Response> extensions(
+    private List<CodeQuarkusExtension> extensions(
             boolean platformOnly,
             List<CodeQuarkusExtension> extensions,
             String extensionId) {
@@ -215,13 +217,70 @@ public class CodeQuarkusResource {
                     .filter(extension -> extension.id().equals(extensionId))
                     .collect(Collectors.toList());
         }
-        String lastUpdated = platformService.cacheLastUpdated().format(FORMATTER);
-        Response response = Response.ok(extensionsFiltered)
-                .header(LAST_MODIFIED_HEADER, lastUpdated)
-                .build();
+        return extensionsFiltered;
+    }
+
+    /**
+     * The catalog views only change when the catalog is reloaded, they are tagged from the catalog and the view so
+     * that clients can revalidate them (the entity is only computed when the client copy is outdated).
+     */
+    private Uni<Response> catalogView(Request request, String view, Supplier<Object> entity) {
+        EntityTag etag = new EntityTag(platformService.catalogTag() + "-" + Integer.toHexString(view.hashCode()));
+        Response response = catalogView(request, etag, () -> Response.ok(entity.get())).build();
+        return Uni.createFrom().item(response);
+    }
+
+    /**
+     * Write the pre-serialized view as is, gzipped when the client accepts it (each encoding has its own ETag). The
+     * HTTP compression is disabled on these endpoints ({@link Uncompressed}) so that the payloads are not encoded again
+     * on the fly.
+     */
+    private Uni<Response> catalogPayload(Request request, HttpHeaders headers, CatalogPayload payload) {
+        boolean gzip = acceptsGzip(headers.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        EntityTag etag = new EntityTag(gzip ? payload.etag() + "-gzip" : payload.etag());
+        Response response = catalogView(request, etag, () -> {
+            Response.ResponseBuilder builder = Response.ok(gzip ? payload.gzip() : payload.identity())
+                    .type(MediaType.APPLICATION_JSON);
+            return gzip ? builder.encoding("gzip") : builder;
+        }).header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
         return Uni.createFrom().item(response);
     }
 
+    private Response.ResponseBuilder catalogView(Request request, EntityTag etag,
+            Supplier<Response.ResponseBuilder> entity) {
+        Date lastModified = Date.from(platformService.cacheLastUpdated().toInstant(ZoneOffset.UTC)
+                .truncatedTo(ChronoUnit.SECONDS));
+        Response.ResponseBuilder builder = request.evaluatePreconditions(lastModified, etag);
+        if (builder == null) {
+            builder = entity.get();
+        }
+        return builder
+                .tag(etag)
+                .lastModified(lastModified)
+                .header(HttpHeaders.CACHE_CONTROL, "public, max-age=" + config.catalogMaxAge().toSeconds());
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") && param.substring(2).matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
     @POST
     @Path("/project")
     @Consumes(MediaType.APPLICATION_JSON)
@@ -286,7 +345,7 @@ public class CodeQuarkusResource {
     @Produces("application/zip")
     @Operation(operationId = "downloadForStream", summary = "Download a custom Quarkus application with the provided settings")
     @Tag(name = "Download", description = "Download endpoints")
-    @Blocking
+    @RunOnVirtualThread
     public Response getDownload(@Valid @BeanParam ProjectDefinitionQuery query) throws IOException, QuarkusCommandException {
         return download(query.toProjectDefinition());
     }
@@ -297,11 +356,15 @@ public class CodeQuarkusResource {
     @Produces("application/zip")
     @Operation(summary = "Download a custom Quarkus application with the provided settings")
     @Tag(name = "Download", description = "Download endpoints")
-    @Blocking
+    @RunOnVirtualThread
     public Response download(@Valid ProjectDefinition projectDefinition) throws IOException, QuarkusCommandException {
         ProjectDefinition p = projectDefinition != null ? projectDefinition : ProjectDefinition.of();
         PlatformInfo platformInfo = platformService.platformInfo(p.streamKey());
-        return Response.ok(projectCreator.create(platformInfo, p))
+        // The permit is released once generated, before the archive is written (see DownloadLimiter)
+        QuarkusProjectService.ProjectArchive projectArchive = downloadLimiter
+                .call(() -> projectCreator.createArchive(platformInfo, p));
+        StreamingOutput archive = metrics.measured(projectArchive)::writeTo;
+        return Response.ok(archive)
                 .type("application/zip")
                 .header("Content-Disposition", "attachment; filename=\"" + p.artifactId() + ".zip\"")
                 .build();
@@ -1,17 +1,26 @@
 package io.quarkus.code.rest;
 
+import io.quarkus.code.config.ConcurrencyConfig;
 import io.quarkus.code.config.GitHubConfig;
 import io.quarkus.code.model.GitHubCreatedRepository;
 import io.quarkus.code.model.ProjectDefinition;
+import io.quarkus.code.service.CodeQuarkusMetrics;
+import io.quarkus.code.service.ConcurrencyLimiter;
 import io.quarkus.code.service.GitHubService;
 import io.quarkus.code.service.PlatformService;
 import io.quarkus.code.service.QuarkusProjectService;
+import io.quarkus.code.service.Workspace;
+import io.quarkus.code.service.WorkspaceService;
 import io.quarkus.devtools.commands.data.QuarkusCommandException;
 import io.quarkus.runtime.StartupEvent;
-import io.smallrye.common.annotation.Blocking;
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.unchecked.Unchecked;
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
@@ -21,16 +30,16 @@ import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 
 import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 @Path("/github")
-@Blocking
+@RunOnVirtualThread
 public class GitHubResource {
 
     private static final Logger LOG = Logger.getLogger(GitHubResource.class.getName());
-    private static final int CHECK_CREATED_RETRY = 10;
-    private static final long CHECK_CREATED_INTERVAL_FACTOR = 500L;
 
     @Inject
     private QuarkusProjectService projectCreator;
@@ -41,9 +50,26 @@ public class GitHubResource {
     @Inject
     private GitHubService gitHubService;
 
+    @Inject
+    private WorkspaceService workspaceService;
+
     @Inject
     GitHubConfig config;
 
+    @Inject
+    ConcurrencyConfig concurrencyConfig;
+
+    @Inject
+    @VirtualThreads
+    ExecutorService virtualThreads;
+
+    private ConcurrencyLimiter limiter;
+
+    @PostConstruct
+    void init() {
+        limiter = new ConcurrencyLimiter("GitHub", concurrencyConfig.github(), concurrencyConfig.acquireTimeout());
+    }
+
     public void onStart(@Observes StartupEvent e) {
         if (gitHubService.isEnabled()) {
             LOG.log(Level.INFO, () -> "GitHub is enabled:\n" +
@@ -67,37 +93,59 @@ public class GitHubResource {
         if (!gitHubService.isEnabled()) {
             throw new WebApplicationException("GitHub is not enabled", Response.Status.BAD_REQUEST);
         }
-        var token = gitHubService.fetchAccessToken(code, state);
-        var login = gitHubService.login(token.accessToken());
-        if (gitHubService.repositoryExists(login, token.accessToken(), projectDefinition.artifactId())) {
-            throw new WebApplicationException("This repository name " + projectDefinition.artifactId() + " already exists",
-                    Response.Status.CONFLICT);
-        }
+        return limiter.call(() -> pushProject(projectDefinition, code, state));
+    }
+
+    private GitHubCreatedRepository pushProject(ProjectDefinition projectDefinition, String code, String state)
+            throws IOException, QuarkusCommandException {
         var platformInfo = platformService.platformInfo(projectDefinition.streamKey());
-        var location = projectCreator.createTmp(platformInfo, projectDefinition, true);
-        var repo = gitHubService.createRepository(login, token.accessToken(), projectDefinition.artifactId());
-        var created = false;
-        var i = 0;
-        while (!created && i < CHECK_CREATED_RETRY) {
-            created = gitHubService.repositoryExists(login, token.accessToken(), projectDefinition.artifactId());
+        try (Workspace workspace = workspaceService.create()) {
+            // The generation does not depend on GitHub, it runs while authenticating and creating the repository
+            // Its checked failures are wrapped by Unchecked and unwrapped by await()
+            var generation = Uni.createFrom()
+                    .item(Unchecked.supplier(() -> projectCreator.create(workspace, CodeQuarkusMetrics.Origin.GITHUB,
+                            platformInfo, projectDefinition, true, false)))
+                    .runSubscriptionOn(virtualThreads)
+                    .subscribeAsCompletionStage();
             try {
-                Thread.sleep(i * CHECK_CREATED_INTERVAL_FACTOR);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-            ++i;
-            if (!created) {
-                LOG.info("Repository not yet created retrying: " + i + "/" + CHECK_CREATED_RETRY);
+                var token = gitHubService.fetchAccessToken(code, state);
+                var login = gitHubService.login(token.accessToken());
+                if (gitHubService.repositoryExists(login, token.accessToken(), projectDefinition.artifactId())) {
+                    throw new WebApplicationException(
+                            "This repository name " + projectDefinition.artifactId() + " already exists",
+                            Response.Status.CONFLICT);
+                }
+                var repository = gitHubService.createRepositoryAndWait(login, token.accessToken(),
+                        projectDefinition.artifactId());
+                var result = await(Uni.combine().all().unis(Uni.createFrom().completionStage(generation), repository)
+                        .asTuple());
+                var location = result.getItem1();
+                var repo = result.getItem2();
+                gitHubService.push(repo.ownerName(), token.accessToken(), repo.defaultBranch(), repo.url(), location);
+                return repo;
+            } finally {
+                // The workspace must not be deleted while the project is still being generated
+                generation.handle((location, failure) -> null).join();
             }
         }
-        if (!created) {
-            throw new InternalServerErrorException(
-                    Response.status(Response.Status.INTERNAL_SERVER_ERROR)
-                            .entity("Error while creating GitHub repository.")
-                            .type(MediaType.TEXT_PLAIN)
-                            .build());
+    }
+
+    private static <T> T await(Uni<T> uni) throws IOException, QuarkusCommandException {
+        try {
+            return uni.await().indefinitely();
+        } catch (RuntimeException e) {
+            // Unchecked wraps the checked failures in a plain RuntimeException, await() in a CompletionException
+            Throwable cause = e;
+            while ((cause.getClass() == RuntimeException.class || cause instanceof CompletionException)
+                    && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            switch (cause) {
+                case IOException i -> throw i;
+                case QuarkusCommandException q -> throw q;
+                case RuntimeException r -> throw r;
+                default -> throw e;
+            }
         }
-        gitHubService.push(repo.ownerName(), token.accessToken(), repo.defaultBranch(), repo.url(), location);
-        return repo;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.model.ProjectDefinition;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Raw data of a request captured by the analytics filter, the expensive processing (extensions resolution, anonymous
+ * id, Segment messages) is done later by {@link AnalyticsEventProcessor}.
+ *
+ * @param action the app action ("App Download", "App Push to GitHub") or null for a simple api call
+ * @param query the query parameters used to read the project definition of a GET app action
+ * @param projectDefinition the already deserialized body of a POST app action, null if it could not be read
+ */
+public record AnalyticsEvent(
+        String action,
+        String method,
+        String source,
+        String path,
+        String url,
+        String userAgent,
+        String referer,
+        String remoteAddr,
+        Map<String, List<String>> query,
+        ProjectDefinition projectDefinition) {
+}
@@ -0,0 +1,176 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.SegmentConfig;
+import io.quarkus.code.model.ProjectDefinition;
+import io.quarkus.logging.Log;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import io.quarkus.maven.dependency.ArtifactKey;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turns the {@link AnalyticsEvent} captured on the request threads into Segment events on a single background thread,
+ * the requests never wait for the analytics.
+ */
+@Singleton
+public class AnalyticsEventProcessor {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    @Inject
+    SegmentConfig segmentConfig;
+
+    @Inject
+    SegmentAnalyticsService analyticsService;
+
+    @Inject
+    PlatformService platformService;
+
+    private AnalyticsEventQueue queue;
+    private Thread consumer;
+    private volatile boolean running = true;
+    private long reportedDropped;
+
+    @PostConstruct
+    void start() {
+        queue = new AnalyticsEventQueue(segmentConfig.queueSize());
+        consumer = new Thread(this::consume, "analytics-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    /**
+     * Never blocks, the event is dropped if the queue is full
+     */
+    public void submit(AnalyticsEvent event) {
+        queue.offer(event);
+    }
+
+    public long dropped() {
+        return queue.dropped();
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                queue.drain(this::process, segmentConfig.batchSize(), IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            reportDropped();
+        }
+        queue.drain(this::process, Integer.MAX_VALUE);
+    }
+
+    private void reportDropped() {
+        long dropped = queue.dropped();
+        if (dropped != reportedDropped) {
+            Log.warnf("Analytics queue is full, %d event(s) dropped since startup", dropped);
+            reportedDropped = dropped;
+        }
+    }
+
+    private void process(AnalyticsEvent event) {
+        try {
+            String uuid = event.remoteAddr() != null ? UUID.nameUUIDFromBytes(event.remoteAddr().getBytes()).toString()
+                    : UUID.randomUUID().toString();
+            if (event.action() != null) {
+                try {
+                    Map<String, Object> w = readWatchedData(event);
+
+                    Set<String> extensions = (Set<String>) w.get("extensions");
+                    if (extensions != null && extensions.size() < 20) {
+                        for (String id : extensions) {
+                            Map<String, Object> props;
+                            if (id.split(":").length == 2) {
+                                ArtifactKey key = ArtifactKey.fromString(id);
+                                props = Map.of("extension", key.toGacString());
+                            } else {
+                                ArtifactCoords coords = ArtifactCoords.fromString(id);
+                                props = Map.of("extension", coords.getKey().toGacString(), "extensionVersion",
+                                        coords.getVersion());
+                            }
+                            Map<String, Object> trackMap = new HashMap<>(w);
+                            trackMap.remove("extensions");
+                            trackMap.putAll(props);
+                            track("Extension Used", trackMap, event, uuid);
+                        }
+                        track(event.action(), w, event, uuid);
+                    }
+                } catch (RuntimeException e) {
+                    // The Api Call is tracked anyway
+                    Log.debug("Error while extracting extension list from request", e);
+                }
+            }
+            track("Api Call", Map.of(), event, uuid);
+        } catch (Exception e) {
+            Log.error("Error while generating/sending an analytic event", e);
+        }
+    }
+
+    private void track(String name, Map<String, Object> properties, AnalyticsEvent event, String uuid) {
+        analyticsService.track(name, properties, event.source(), event.path(), event.url(), event.userAgent(),
+                event.referer(), uuid);
+    }
+
+    private Map<String, Object> readWatchedData(AnalyticsEvent event) {
+        Set<String> extensions;
+        String buildTool;
+        String streamKey;
+        String javaVersion;
+        boolean noCode;
+        PlatformInfo recommendedPlatformInfo = platformService.recommendedPlatformInfo();
+        if ("POST".equals(event.method())) {
+            ProjectDefinition projectDefinition = event.projectDefinition();
+            if (projectDefinition != null) {
+                extensions = recommendedPlatformInfo.checkAndMergeExtensions(projectDefinition.extensions());
+                buildTool = projectDefinition.buildTool();
+                javaVersion = projectDefinition.javaVersion() != null ? projectDefinition.javaVersion().toString() : null;
+                streamKey = projectDefinition.streamKey();
+                noCode = projectDefinition.noCode();
+            } else {
+                extensions = Collections.emptySet();
+                buildTool = ProjectDefinition.DEFAULT_BUILDTOOL;
+                streamKey = null;
+                javaVersion = null;
+                noCode = ProjectDefinition.DEFAULT_NO_CODE;
+            }
+        } else {
+            Map<String, List<String>> query = event.query();
+            extensions = recommendedPlatformInfo
+                    .checkAndMergeExtensions(new HashSet<>(query.getOrDefault("e", List.of())));
+            buildTool = query.containsKey("b") ? query.get("b").get(0) : ProjectDefinition.DEFAULT_BUILDTOOL;
+            streamKey = query.containsKey("S") ? query.get("S").get(0) : null;
+            javaVersion = query.containsKey("j") ? query.get("j").get(0) : null;
+            noCode = query.containsKey("nc") ? Boolean.parseBoolean(query.get("nc").get(0))
+                    : ProjectDefinition.DEFAULT_NO_CODE;
+        }
+        String resolvedStreamKey = platformService.platformInfo(streamKey).stream().key();
+        Map<String, Object> data = new HashMap<>();
+        data.put("buildTool", buildTool);
+        data.put("extensions", extensions);
+        data.put("streamKey", resolvedStreamKey);
+        data.put("javaVersion", javaVersion);
+        data.put("noCode", noCode);
+        return data;
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+    }
+}
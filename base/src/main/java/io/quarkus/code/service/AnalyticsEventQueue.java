@@ -0,0 +1,69 @@
+package io.quarkus.code.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue, events offered when it is full are dropped and counted.
+ */
+class AnalyticsEventQueue {
+
+    private final BlockingQueue<AnalyticsEvent> queue;
+    private final LongAdder dropped = new LongAdder();
+
+    AnalyticsEventQueue(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @return false if the queue is full and the event was dropped
+     */
+    boolean offer(AnalyticsEvent event) {
+        if (!queue.offer(event)) {
+            dropped.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of events passed to the consumer
+     */
+    int drain(Consumer<AnalyticsEvent> consumer, int max) {
+        return drain(consumer, max, queue.poll());
+    }
+
+    /**
+     * Wait for the first event up to the given timeout
+     *
+     * @return the number of events passed to the consumer
+     */
+    int drain(Consumer<AnalyticsEvent> consumer, int max, long timeout, TimeUnit unit) throws InterruptedException {
+        return drain(consumer, max, queue.poll(timeout, unit));
+    }
+
+    private int drain(Consumer<AnalyticsEvent> consumer, int max, AnalyticsEvent first) {
+        if (first == null) {
+            return 0;
+        }
+        consumer.accept(first);
+        int count = 1;
+        AnalyticsEvent event;
+        while (count < max && (event = queue.poll()) != null) {
+            consumer.accept(event);
+            count++;
+        }
+        return count;
+    }
+
+    int size() {
+        return queue.size();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+}
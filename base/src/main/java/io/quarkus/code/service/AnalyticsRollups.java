@@ -0,0 +1,79 @@
+package io.quarkus.code.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts the analytics events by event name, source, path and properties between two flushes.
+ * <p>
+ * The events are added by the analytics consumer thread only and drained by the flush, which swaps the counters for
+ * new ones: the lock is never contended but by a flush.
+ */
+class AnalyticsRollups {
+
+    /**
+     * Not rolled up, the extensions are already counted one by one with "Extension Used"
+     */
+    private static final String EXTENSIONS_PROPERTY = "extensions";
+
+    record Rollup(String event, String source, String path, Map<String, Object> properties, long count) {
+    }
+
+    private record Key(String event, String source, String path, Map<String, Object> properties) {
+    }
+
+    private final int maxKeys;
+    private Map<Key, long[]> counters = new HashMap<>();
+    private long dropped;
+
+    AnalyticsRollups(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @return false if the event was dropped because there are already too many distinct keys
+     */
+    boolean add(String event, String source, String path, Map<String, Object> properties) {
+        Map<String, Object> rolledUp = new HashMap<>(properties.size());
+        properties.forEach((name, value) -> {
+            if (value != null && !EXTENSIONS_PROPERTY.equals(name)) {
+                rolledUp.put(name, value);
+            }
+        });
+        Key key = new Key(event, source, path, Map.copyOf(rolledUp));
+        synchronized (this) {
+            long[] counter = counters.get(key);
+            if (counter == null) {
+                if (counters.size() >= maxKeys) {
+                    dropped++;
+                    return false;
+                }
+                counter = new long[1];
+                counters.put(key, counter);
+            }
+            counter[0]++;
+            return true;
+        }
+    }
+
+    /**
+     * Reset the counters and return the events counted since the previous call
+     */
+    List<Rollup> drain() {
+        Map<Key, long[]> drained;
+        synchronized (this) {
+            drained = counters;
+            counters = new HashMap<>();
+        }
+        List<Rollup> rollups = new ArrayList<>(drained.size());
+        drained.forEach((key, counter) -> rollups.add(
+                new Rollup(key.event(), key.source(), key.path(), key.properties(), counter[0])));
+        return rollups;
+    }
+
+    synchronized long dropped() {
+        return dropped;
+    }
+}
@@ -0,0 +1,211 @@
+package io.quarkus.code.service;
+
+import io.quarkus.logging.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of analytics records stored in memory-mapped segment files, the records survive a restart until
+ * they are acknowledged.
+ * <p>
+ * Each segment starts with the position of the first unacknowledged record followed by the records (length and
+ * bytes). A new segment is created when the current one is full and the oldest segments are deleted (with their
+ * records) when the total size is exceeded.
+ */
+class AnalyticsSpool implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "spool-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int HEADER_SIZE = Long.BYTES;
+    private static final int LENGTH_SIZE = Integer.BYTES;
+
+    /**
+     * @param segment the sequence of the segment the records were read from
+     * @param endPosition the position after the last record of the batch
+     */
+    record Batch(long segment, int endPosition, List<byte[]> records) {
+    }
+
+    private static final class Segment {
+        private final long sequence;
+        private final Path file;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long sequence, Path file, MappedByteBuffer buffer) {
+            this.sequence = sequence;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        private int readPosition() {
+            return (int) Math.max(HEADER_SIZE, buffer.getLong(0));
+        }
+
+        private int recordLength(int position) {
+            if (position + LENGTH_SIZE > buffer.capacity()) {
+                return 0;
+            }
+            int length = buffer.getInt(position);
+            return length > 0 && position + LENGTH_SIZE + length <= buffer.capacity() ? length : 0;
+        }
+    }
+
+    private final Path dir;
+    private final int segmentSize;
+    private final long maxSize;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment writeSegment;
+    private long dropped;
+
+    AnalyticsSpool(Path dir, int segmentSize, long maxSize) throws IOException {
+        this.dir = Files.createDirectories(dir);
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long sequence;
+                    try {
+                        sequence = Long.parseLong(name, SEGMENT_PREFIX.length(),
+                                name.length() - SEGMENT_SUFFIX.length(), 10);
+                    } catch (NumberFormatException e) {
+                        Log.warnf("Ignoring %s in the analytics spool, it is not a segment", file);
+                        continue;
+                    }
+                    if (Files.size(file) <= HEADER_SIZE) {
+                        Files.delete(file);
+                        continue;
+                    }
+                    Segment segment = open(sequence, file, Files.size(file));
+                    int position = HEADER_SIZE;
+                    int length;
+                    while ((length = segment.recordLength(position)) > 0) {
+                        position += LENGTH_SIZE + length;
+                    }
+                    segment.writePosition = position;
+                    segments.put(sequence, segment);
+                }
+            }
+        }
+        writeSegment = segments.isEmpty() ? create(0) : segments.lastEntry().getValue();
+    }
+
+    /**
+     * @return false if the record is bigger than a segment and was dropped
+     */
+    synchronized boolean append(byte[] record) throws IOException {
+        int size = LENGTH_SIZE + record.length;
+        if (HEADER_SIZE + size > segmentSize) {
+            dropped++;
+            return false;
+        }
+        if (writeSegment.writePosition + size > writeSegment.buffer.capacity()) {
+            writeSegment = create(writeSegment.sequence + 1);
+            evict();
+        }
+        Segment segment = writeSegment;
+        segment.buffer.put(segment.writePosition + LENGTH_SIZE, record);
+        // The length is written last, a partially written record is ignored when reopening the spool
+        segment.buffer.putInt(segment.writePosition, record.length);
+        segment.writePosition += size;
+        return true;
+    }
+
+    /**
+     * @return the oldest unacknowledged records (all from the same segment) or null if there is none
+     */
+    synchronized Batch poll(int max) throws IOException {
+        while (!segments.isEmpty()) {
+            Segment segment = segments.firstEntry().getValue();
+            int position = segment.readPosition();
+            if (position >= segment.writePosition) {
+                if (segment == writeSegment) {
+                    return null;
+                }
+                delete(segment);
+                continue;
+            }
+            List<byte[]> records = new ArrayList<>();
+            while (records.size() < max && position < segment.writePosition) {
+                byte[] record = new byte[segment.buffer.getInt(position)];
+                segment.buffer.get(position + LENGTH_SIZE, record);
+                records.add(record);
+                position += LENGTH_SIZE + record.length;
+            }
+            return new Batch(segment.sequence, position, records);
+        }
+        return null;
+    }
+
+    synchronized void acknowledge(Batch batch) throws IOException {
+        Segment segment = segments.get(batch.segment());
+        if (segment == null) {
+            // Already evicted
+            return;
+        }
+        segment.buffer.putLong(0, batch.endPosition());
+        if (batch.endPosition() >= segment.writePosition && segment != writeSegment) {
+            delete(segment);
+        }
+    }
+
+    /**
+     * @return the number of records dropped because they were too big or evicted before being acknowledged
+     */
+    synchronized long dropped() {
+        return dropped;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+        }
+    }
+
+    private void evict() throws IOException {
+        while (segments.size() > 1 && (long) segments.size() * segmentSize > maxSize) {
+            Segment oldest = segments.firstEntry().getValue();
+            int position = oldest.readPosition();
+            int length;
+            while (position < oldest.writePosition && (length = oldest.recordLength(position)) > 0) {
+                position += LENGTH_SIZE + length;
+                dropped++;
+            }
+            delete(oldest);
+        }
+    }
+
+    private Segment create(long sequence) throws IOException {
+        Segment segment = open(sequence, dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX)),
+                segmentSize);
+        segment.writePosition = HEADER_SIZE;
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    private static Segment open(long sequence, Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // The mapping stays valid once the channel is closed
+            return new Segment(sequence, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    private void delete(Segment segment) throws IOException {
+        segments.remove(segment.sequence);
+        Files.deleteIfExists(segment.file);
+    }
+}
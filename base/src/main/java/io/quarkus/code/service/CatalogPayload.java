@@ -0,0 +1,22 @@
+package io.quarkus.code.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A catalog view serialized once per catalog reload, in identity and gzip encodings.
+ */
+public record CatalogPayload(String etag, byte[] identity, byte[] gzip) {
+
+    public static CatalogPayload of(String etag, byte[] json) {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new CatalogPayload(etag, json, gzip.toByteArray());
+    }
+}
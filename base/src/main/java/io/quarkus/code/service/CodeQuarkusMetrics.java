@@ -0,0 +1,196 @@
+package io.quarkus.code.service;
+
+import com.google.common.io.CountingOutputStream;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Performance metrics of the project generation, of the platform reload and of the workspaces (served on the Prometheus
+ * endpoint).
+ */
+@Singleton
+public class CodeQuarkusMetrics {
+
+    /**
+     * Used when the services are created outside of CDI (benchmarks and unit tests), nothing is recorded
+     */
+    static final CodeQuarkusMetrics NOOP = new CodeQuarkusMetrics(new CompositeMeterRegistry());
+
+    public enum Phase {
+        /**
+         * Checks of the project definition against the stream (build tool, Java version)
+         */
+        VALIDATION,
+        /**
+         * Resolution of the requested extension ids and shortcuts
+         */
+        RESOLUTION,
+        /**
+         * {@code CreateProject.execute}
+         */
+        CREATE,
+        /**
+         * Zipping of the generated project (streamed to the response, so it includes the writes of a non cached
+         * archive)
+         */
+        ZIP,
+        /**
+         * Write of the whole archive to the response
+         */
+        WRITE;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * What the project is generated for, the generations of each origin are reported separately
+     */
+    public enum Origin {
+        DOWNLOAD,
+        GITHUB,
+        /**
+         * Pre-generation of the popular archives in the cache
+         */
+        WARMUP,
+        /**
+         * Self-checks of the streams when the platform is loaded
+         */
+        CHECK;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum ReloadOutcome {
+        UPDATED,
+        UNCHANGED,
+        FAILED;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final MeterRegistry registry;
+    private final Map<Origin, Map<Phase, Timer>> phaseTimers = new EnumMap<>(Origin.class);
+    private final Map<Origin, AtomicInteger> inFlightGenerations = new EnumMap<>(Origin.class);
+    private final DistributionSummary archiveSize;
+    private final MultiGauge platformExtensions;
+
+    @Inject
+    public CodeQuarkusMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Origin origin : Origin.values()) {
+            Map<Phase, Timer> timers = new EnumMap<>(Phase.class);
+            for (Phase phase : Phase.values()) {
+                timers.put(phase, Timer.builder("code.quarkus.generation.phase")
+                        .description("Duration of each phase of the project generation")
+                        .tag("phase", phase.tag)
+                        .tag("origin", origin.tag)
+                        .publishPercentileHistogram()
+                        .register(registry));
+            }
+            phaseTimers.put(origin, timers);
+            AtomicInteger inFlight = new AtomicInteger();
+            Gauge.builder("code.quarkus.generation.in.flight", inFlight, AtomicInteger::get)
+                    .description("Number of projects being generated")
+                    .tag("origin", origin.tag)
+                    .register(registry);
+            inFlightGenerations.put(origin, inFlight);
+        }
+        this.archiveSize = DistributionSummary.builder("code.quarkus.generation.archive.size")
+                .description("Size of the archives written to the responses")
+                .baseUnit(BaseUnits.BYTES)
+                .publishPercentileHistogram()
+                .register(registry);
+        this.platformExtensions = MultiGauge.builder("code.quarkus.platform.extensions")
+                .description("Number of extensions of each loaded stream")
+                .register(registry);
+    }
+
+    public void record(Origin origin, Phase phase, long startNanos) {
+        phaseTimers.get(origin).get(phase).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void generationStarted(Origin origin) {
+        inFlightGenerations.get(origin).incrementAndGet();
+    }
+
+    public void generationEnded(Origin origin) {
+        inFlightGenerations.get(origin).decrementAndGet();
+    }
+
+    /**
+     * @return the downloaded archive recording its write duration and size
+     */
+    public QuarkusProjectService.ProjectArchive measured(QuarkusProjectService.ProjectArchive archive) {
+        return out -> {
+            long start = System.nanoTime();
+            CountingOutputStream counting = new CountingOutputStream(out);
+            try {
+                archive.writeTo(counting);
+            } finally {
+                record(Origin.DOWNLOAD, Phase.WRITE, start);
+            }
+            archiveSize.record(counting.getCount());
+        };
+    }
+
+    public void recordStreamLoad(String streamKey, long startNanos) {
+        Timer.builder("code.quarkus.platform.stream.load")
+                .description("Duration of the resolution and processing of a stream catalog")
+                .tag("stream", streamKey)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordReload(ReloadOutcome outcome, long startNanos) {
+        Timer.builder("code.quarkus.platform.reload")
+                .description("Duration of the platform reloads by outcome")
+                .tag("outcome", outcome.tag)
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Report the disk usage of the workspaces and what the sweeper reclaimed
+     */
+    public void bindWorkspaces(WorkspaceService workspaces) {
+        FunctionCounter.builder("code.quarkus.workspace.reclaimed", workspaces, WorkspaceService::reclaimedBytes)
+                .description("Size of the workspaces reclaimed by the sweeper")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        FunctionCounter.builder("code.quarkus.workspace.reclaimed.directories", workspaces,
+                WorkspaceService::reclaimedDirectories)
+                .description("Number of workspaces reclaimed by the sweeper")
+                .register(registry);
+        Gauge.builder("code.quarkus.workspace.used", workspaces, WorkspaceService::usedBytes)
+                .description("Size of the workspaces left after the last sweep")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("code.quarkus.workspace.active", workspaces, WorkspaceService::activeWorkspaces)
+                .description("Number of workspaces in use")
+                .register(registry);
+    }
+
+    /**
+     * Replace the extension counts with the ones of the loaded streams (the removed streams are not reported anymore)
+     */
+    public void platformInfosLoaded(Map<String, PlatformInfo> platformInfos) {
+        platformExtensions.register(platformInfos.entrySet().stream()
+                .map(e -> MultiGauge.Row.of(Tags.of("stream", e.getKey()), e.getValue().codeQuarkusExtensions().size()))
+                .toList(), true);
+    }
+}
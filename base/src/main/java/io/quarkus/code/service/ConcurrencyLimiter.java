@@ -0,0 +1,51 @@
+package io.quarkus.code.service;
+
+import io.quarkus.devtools.commands.data.QuarkusCommandException;
+import io.quarkus.logging.Log;
+import jakarta.ws.rs.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of concurrent calls of an endpoint class (the endpoints run on virtual threads, so the worker pool
+ * size does not bound them anymore).
+ */
+public final class ConcurrencyLimiter {
+
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private final String name;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+
+    public ConcurrencyLimiter(String name, int maxConcurrency, Duration acquireTimeout) {
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    public <T> T call(LimitedCall<T> call) throws IOException, QuarkusCommandException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                Log.warnf("Too many concurrent %s requests, rejecting", name);
+                throw new ServiceUnavailableException(RETRY_AFTER_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(RETRY_AFTER_SECONDS);
+        }
+        try {
+            return call.call();
+        } finally {
+            permits.release();
+        }
+    }
+
+    @FunctionalInterface
+    public interface LimitedCall<T> {
+        T call() throws IOException, QuarkusCommandException;
+    }
+}
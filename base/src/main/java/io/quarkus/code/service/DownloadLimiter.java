@@ -0,0 +1,34 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.ConcurrencyConfig;
+import io.quarkus.devtools.commands.data.QuarkusCommandException;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+
+/**
+ * Bounds the project generations of the downloads, the archive cache warm-up takes its permits from the same pool.
+ * <p>
+ * Only the generation holds a permit, not the write of the archive to the response: a slow client would keep it for
+ * as long as it reads and a response which is never written would never release it. The workspaces of the archives
+ * being written are reported by the {@code code.quarkus.workspace.active} gauge.
+ */
+@Singleton
+public class DownloadLimiter {
+
+    @Inject
+    ConcurrencyConfig concurrencyConfig;
+
+    private ConcurrencyLimiter limiter;
+
+    @PostConstruct
+    void init() {
+        limiter = new ConcurrencyLimiter("download", concurrencyConfig.downloads(), concurrencyConfig.acquireTimeout());
+    }
+
+    public <T> T call(ConcurrencyLimiter.LimitedCall<T> call) throws IOException, QuarkusCommandException {
+        return limiter.call(call);
+    }
+}
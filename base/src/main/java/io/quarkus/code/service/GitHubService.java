@@ -2,22 +2,29 @@ package io.quarkus.code.service;
 
 import com.google.common.base.Strings;
 import io.quarkus.code.config.GitHubConfig;
+import io.quarkus.code.misc.QuarkusProjectGitUtils;
 import io.quarkus.code.model.GitHubCreatedRepository;
 import io.quarkus.code.model.GitHubToken;
 import io.quarkus.logging.Log;
+import io.quarkus.virtual.threads.VirtualThreads;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import jakarta.ws.rs.InternalServerErrorException;
 import jakarta.ws.rs.WebApplicationException;
-import org.eclipse.jgit.api.Git;
-import org.eclipse.jgit.api.errors.GitAPIException;
-import org.eclipse.jgit.transport.URIish;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 import org.eclipse.microprofile.rest.client.inject.RestClient;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -27,8 +34,14 @@ import static java.util.function.Predicate.not;
 @ApplicationScoped
 public class GitHubService {
 
+    /**
+     * Number of checks after the first one
+     */
+    private static final int CHECK_CREATED_MAX_RETRIES = 10;
+    private static final double CHECK_CREATED_JITTER = 0.5;
+
     @Inject
-    private GitHubConfig config;
+    GitHubConfig config;
 
     @Inject
     @RestClient
@@ -36,7 +49,15 @@ public class GitHubService {
 
     @Inject
     @RestClient
-    private GitHubClient ghClient;
+    GitHubClient ghClient;
+
+    // Shortened by the tests
+    Duration checkCreatedInitialBackoff = Duration.ofMillis(250);
+    Duration checkCreatedMaxBackoff = Duration.ofSeconds(4);
+
+    @Inject
+    @VirtualThreads
+    ExecutorService virtualThreads;
 
     public String login(String token) {
         try {
@@ -80,6 +101,32 @@ public class GitHubService {
         }
     }
 
+    /**
+     * Create the repository and wait until it is available (GitHub creates it asynchronously), the checks are retried
+     * with a jittered exponential backoff without holding a thread in between.
+     */
+    public Uni<GitHubCreatedRepository> createRepositoryAndWait(String login, String token, String repositoryName) {
+        return Uni.createFrom().item(() -> createRepository(login, token, repositoryName))
+                .runSubscriptionOn(executor())
+                .call(repo -> Uni.createFrom().item(() -> repositoryExists(login, token, repositoryName))
+                        .runSubscriptionOn(executor())
+                        .invoke(created -> {
+                            if (!created) {
+                                Log.infof("Repository %s/%s not yet created, retrying", login, repositoryName);
+                                throw new RepositoryNotCreatedException();
+                            }
+                        })
+                        .onFailure(RepositoryNotCreatedException.class).retry()
+                        .withBackOff(checkCreatedInitialBackoff, checkCreatedMaxBackoff)
+                        .withJitter(CHECK_CREATED_JITTER)
+                        .atMost(CHECK_CREATED_MAX_RETRIES)
+                        .onFailure(RepositoryNotCreatedException.class).transform(e -> new InternalServerErrorException(
+                                Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                                        .entity("Error while creating GitHub repository.")
+                                        .type(MediaType.TEXT_PLAIN)
+                                        .build())));
+    }
+
     public void push(String ownerName, String token, String initialBranch, String httpTransportUrl, Path path) {
         checkEnabled();
         requireNonEmpty(token, "token must not be empty.");
@@ -88,25 +135,9 @@ public class GitHubService {
         Objects.requireNonNull(path, "path must not be null.");
 
         try {
-            Git.init().setInitialBranch(initialBranch).setDirectory(path.toFile()).call().close();
-            try (var repo = Git.open(path.toFile())) {
-                repo.add().addFilepattern(".").call();
-                repo.commit().setMessage("Initial commit")
-                        .setAuthor("quarkusio", "no-reply@quarkus.io")
-                        .setCommitter("quarkusio", "no-reply@quarkus.io")
-                        .setSign(false)
-                        .call();
-                var remote = repo.remoteAdd();
-                remote.setName("origin");
-                remote.setUri(new URIish(httpTransportUrl));
-                remote.call();
-                var pushCommand = repo.push();
-                pushCommand.add("HEAD");
-                pushCommand.setRemote("origin");
-                pushCommand.setCredentialsProvider(new UsernamePasswordCredentialsProvider(ownerName, token));
-                pushCommand.call();
-            }
-        } catch (GitAPIException | IOException | URISyntaxException e) {
+            QuarkusProjectGitUtils.push(path, initialBranch, httpTransportUrl,
+                    new UsernamePasswordCredentialsProvider(ownerName, token));
+        } catch (IOException | URISyntaxException e) {
             throw new WebApplicationException("An error occurred while pushing to the git repo", e);
         }
     }
@@ -138,9 +169,20 @@ public class GitHubService {
                 && config.clientSecret().filter(not(Strings::isNullOrEmpty)).isPresent();
     }
 
+    private Executor executor() {
+        // Not injected when the service is instantiated directly (tests)
+        return virtualThreads != null ? virtualThreads : Infrastructure.getDefaultWorkerPool();
+    }
+
     private void requireNonEmpty(String value, String message) {
         if (value.isEmpty()) {
             throw new IllegalArgumentException(message);
         }
     }
+
+    private static final class RepositoryNotCreatedException extends RuntimeException {
+        private RepositoryNotCreatedException() {
+            super(null, null, false, false);
+        }
+    }
 }
\ No newline at end of file
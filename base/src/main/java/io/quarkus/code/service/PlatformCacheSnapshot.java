@@ -0,0 +1,82 @@
+package io.quarkus.code.service;
+
+import io.quarkus.registry.catalog.ExtensionCatalog;
+import io.quarkus.registry.catalog.PlatformCatalog;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Snapshot of the resolved catalogs (platform catalog and extension catalog of each stream) stored as a single
+ * compressed archive, it allows to start serving without waiting for the registry.
+ * <p>
+ * Only the resolved catalogs are stored, the processing is done again when loading the snapshot (it does not need
+ * any network access). The same layout can also be read from a directory:
+ *
+ * <pre>
+ * platform-catalog.json
+ * extension-catalogs/&lt;stream key&gt;.json
+ * </pre>
+ */
+public record PlatformCacheSnapshot(PlatformCatalog platformCatalog, Map<String, ExtensionCatalog> extensionCatalogs) {
+
+    private static final String PLATFORM_CATALOG = "platform-catalog.json";
+    private static final String EXTENSION_CATALOGS = "extension-catalogs";
+    private static final String JSON_EXTENSION = ".json";
+
+    /**
+     * @param path a snapshot archive or a directory with the same layout
+     */
+    public static PlatformCacheSnapshot read(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            return readFrom(path);
+        }
+        try (FileSystem zip = FileSystems.newFileSystem(path)) {
+            return readFrom(zip.getPath("/"));
+        }
+    }
+
+    private static PlatformCacheSnapshot readFrom(Path root) throws IOException {
+        PlatformCatalog platformCatalog = PlatformCatalog.fromFile(root.resolve(PLATFORM_CATALOG));
+        Map<String, ExtensionCatalog> extensionCatalogs = new HashMap<>();
+        try (Stream<Path> paths = Files.list(root.resolve(EXTENSION_CATALOGS))) {
+            for (Path path : paths.filter(p -> p.getFileName().toString().endsWith(JSON_EXTENSION)).toList()) {
+                String fileName = path.getFileName().toString();
+                String streamKey = fileName.substring(0, fileName.length() - JSON_EXTENSION.length());
+                extensionCatalogs.put(streamKey, ExtensionCatalog.fromFile(path));
+            }
+        }
+        return new PlatformCacheSnapshot(platformCatalog, extensionCatalogs);
+    }
+
+    /**
+     * Atomically replace the snapshot file
+     */
+    public void write(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            // The zip file system needs to create the file itself
+            Files.delete(tmp);
+            try (FileSystem zip = FileSystems.newFileSystem(URI.create("jar:" + tmp.toUri()), Map.of("create", "true"))) {
+                platformCatalog.persist(zip.getPath(PLATFORM_CATALOG));
+                Path dir = Files.createDirectories(zip.getPath(EXTENSION_CATALOGS));
+                for (Map.Entry<String, ExtensionCatalog> entry : extensionCatalogs.entrySet()) {
+                    entry.getValue().persist(dir.resolve(entry.getKey() + JSON_EXTENSION));
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
@@ -8,6 +8,7 @@ import io.quarkus.code.model.ExtensionRef;
 import io.quarkus.code.model.Stream;
 import io.quarkus.registry.catalog.ExtensionCatalog;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -27,6 +28,8 @@ public class PlatformInfo {
     private final ExtensionCatalog extensionCatalog;
 
     private final Map<String, ExtensionRef> extensionsById;
+    private final Map<String, String> resolvedIdsById;
+    private final Map<String, String> resolvedIdsByShortcut;
 
     public PlatformInfo(String platformKey, Stream stream, String quarkusCoreVersion, String platformVersion,
             boolean recommended, List<CodeQuarkusExtension> codeQuarkusExtensions,
@@ -45,6 +48,33 @@ public class PlatformInfo {
                     }
                     throw new IllegalStateException("Duplicate key " + a);
                 }));
+        this.resolvedIdsById = extensionsById.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> withVersionIfNeeded(e.getValue())));
+        this.resolvedIdsByShortcut = indexByShortcut(extensionsById);
+    }
+
+    /**
+     * When several extensions share the same shortcut, the io.quarkus one is preferred (ambiguous shortcuts are not
+     * indexed)
+     */
+    private static Map<String, String> indexByShortcut(Map<String, ExtensionRef> extensionsById) {
+        Map<String, List<ExtensionRef>> candidates = extensionsById.entrySet().stream()
+                .collect(Collectors.groupingBy(e -> QuarkusExtensionUtils.toShortcut(e.getKey()),
+                        Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        Map<String, String> index = new HashMap<>();
+        candidates.forEach((shortcut, found) -> {
+            if (found.size() == 1) {
+                index.put(shortcut, withVersionIfNeeded(found.get(0)));
+                return;
+            }
+            var core = found.stream()
+                    .filter(ext -> ext.id().startsWith("io.quarkus"))
+                    .toList();
+            if (core.size() == 1) {
+                index.put(shortcut, withVersionIfNeeded(core.get(0)));
+            }
+        });
+        return Map.copyOf(index);
     }
 
     public List<CodeQuarkusExtension> codeQuarkusExtensions() {
@@ -87,29 +117,17 @@ public class PlatformInfo {
     }
 
     private String findById(String id) {
-        if (this.extensionsById.containsKey(id)) {
-            return withVersionIfNeeded(this.extensionsById.get(id));
+        String resolved = resolvedIdsById.get(id);
+        if (resolved == null) {
+            resolved = resolvedIdsByShortcut.get(QuarkusExtensionUtils.toShortcut(id));
         }
-        var found = this.extensionsById.entrySet().stream()
-                .filter(entry -> QuarkusExtensionUtils.toShortcut(entry.getKey()).equals(QuarkusExtensionUtils.toShortcut(id)))
-                .map(Map.Entry::getValue)
-                .toList();
-        if (found.size() == 1) {
-            var ext = found.get(0);
-            return withVersionIfNeeded(ext);
-        } else if (found.size() > 1) {
-            var core = found.stream()
-                    .filter(ext -> ext.id().startsWith("io.quarkus"))
-                    .toList();
-            if (core.size() == 1) {
-                var ext = core.get(0);
-                return withVersionIfNeeded(ext);
-            }
+        if (resolved == null) {
+            throw new IllegalArgumentException("Invalid extension: " + id);
         }
-        throw new IllegalArgumentException("Invalid extension: " + id);
+        return resolved;
     }
 
-    private String withVersionIfNeeded(ExtensionRef ext) {
+    private static String withVersionIfNeeded(ExtensionRef ext) {
         if (!ext.platform()) {
             return ext.id() + ":" + ext.version();
         }
@@ -1,15 +1,30 @@
 package io.quarkus.code.service;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,6 +33,8 @@ import java.time.ZoneOffset;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.code.model.Preset;
 import io.quarkus.code.model.ProjectDefinition;
 import io.quarkus.code.model.Stream;
@@ -27,15 +44,16 @@ import io.quarkus.devtools.project.QuarkusProjectHelper;
 import io.quarkus.logging.Log;
 import io.quarkus.registry.Constants;
 import io.quarkus.registry.ExtensionCatalogResolver;
-import io.quarkus.registry.catalog.PlatformRelease;
 import io.quarkus.runtime.LaunchMode;
 import jakarta.enterprise.event.Observes;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import io.quarkus.code.config.CodeQuarkusConfig;
 import io.quarkus.code.config.PlatformConfig;
 import io.quarkus.code.model.CodeQuarkusExtension;
 import io.quarkus.registry.RegistryResolutionException;
+import io.quarkus.registry.catalog.Extension;
 import io.quarkus.registry.catalog.ExtensionCatalog;
 import io.quarkus.registry.catalog.Platform;
 import io.quarkus.registry.catalog.PlatformCatalog;
@@ -47,6 +65,8 @@ import static io.quarkus.code.misc.QuarkusExtensionUtils.processExtensions;
 import static io.quarkus.devtools.project.JavaVersion.getCompatibleLTSVersions;
 import static io.quarkus.platform.catalog.processor.CatalogProcessor.getMinimumJavaVersion;
 import static io.quarkus.platform.catalog.processor.CatalogProcessor.getRecommendedJavaVersion;
+import static java.util.Collections.emptyList;
+import static java.util.function.Predicate.not;
 
 @Singleton
 public class PlatformService {
@@ -99,9 +119,27 @@ public class PlatformService {
     @Inject
     private PlatformConfig platformConfig;
 
+    @Inject
+    private CodeQuarkusConfig config;
+
     @Inject
     private QuarkusProjectService projectService;
 
+    @Inject
+    private WorkspaceService workspaceService;
+
+    @Inject
+    private ProjectArchiveCache archiveCache;
+
+    @Inject
+    private ProjectArchiveCacheWarmer archiveCacheWarmer;
+
+    @Inject
+    private ObjectMapper objectMapper;
+
+    @Inject
+    private CodeQuarkusMetrics metrics;
+
     @Inject
     Instance<PlatformOverride> platformOverride;
 
@@ -109,7 +147,12 @@ public class PlatformService {
     private final AtomicReference<PlatformServiceCache> platformServiceCacheRef = new AtomicReference<>();
 
     public void onStart(@Observes StartupEvent e) {
-        reload();
+        if (loadSnapshot()) {
+            // Serve the snapshot right away and refresh it from the registry in the background
+            Thread.ofPlatform().daemon().name("platform-reload").start(this::reload);
+        } else {
+            reload();
+        }
     }
 
     public PlatformService() throws RegistryResolutionException {
@@ -117,12 +160,17 @@ public class PlatformService {
     }
 
     @Scheduled(cron = "{io.quarkus.code.quarkus-platforms.reload-cron-expr}")
-    public void reload() {
+    public synchronized void reload() {
+        long start = System.nanoTime();
         try {
-            reloadPlatformServiceCache();
+            boolean updated = reloadPlatformServiceCache();
+            metrics.recordReload(updated ? CodeQuarkusMetrics.ReloadOutcome.UPDATED
+                    : CodeQuarkusMetrics.ReloadOutcome.UNCHANGED, start);
         } catch (RegistryResolutionException e) {
+            metrics.recordReload(CodeQuarkusMetrics.ReloadOutcome.FAILED, start);
             Log.warnf(e, "Could not resolve catalogs [%s]", e.getLocalizedMessage());
         } catch (Exception e) {
+            metrics.recordReload(CodeQuarkusMetrics.ReloadOutcome.FAILED, start);
             Log.warnf(e, "Could not reload catalogs [%s]", e.getLocalizedMessage());
         }
     }
@@ -143,6 +191,16 @@ public class PlatformService {
         return platformOverride.isResolvable() ? platformOverride.get().presets() : DEFAULT_PRESETS;
     }
 
+    public List<Preset> allPresets() {
+        List<Preset> presets = new ArrayList<>(config.useDefaultPresets() ? presets() : emptyList());
+
+        config.customPresets().ifPresent(customConfigs -> customConfigs.stream()
+                .map(pc -> new Preset(pc.key(), pc.title(), pc.icon(), pc.extensions()))
+                .forEach(presets::add));
+
+        return presets;
+    }
+
     public PlatformInfo recommendedPlatformInfo() {
         return platformInfo(null);
     }
@@ -151,10 +209,29 @@ public class PlatformService {
         return platformsCache().cacheLastUpdated();
     }
 
+    /**
+     * Opaque tag which changes whenever the catalog content changes (used to build the ETags of the catalog views)
+     */
+    public String catalogTag() {
+        return platformsCache().catalogTag();
+    }
+
     public PlatformCatalog platformCatalog() {
         return platformsCache().platformCatalog();
     }
 
+    /**
+     * The pre-serialized extension list of a stream (null for the recommended stream)
+     */
+    public CatalogPayload extensionsPayload(String streamKey, boolean platformOnly) {
+        String normalizedStreamKey = normalizeStreamKey(streamKey);
+        CatalogPayload payload = platformsCache().extensionsPayloads().get(payloadKey(normalizedStreamKey, platformOnly));
+        if (payload == null) {
+            throw new IllegalArgumentException("Invalid streamKey: " + streamKey);
+        }
+        return payload;
+    }
+
     public List<CodeQuarkusExtension> recommendedCodeQuarkusExtensions() {
         return codeQuarkusExtensions(recommendedStreamKey());
     }
@@ -199,7 +276,65 @@ public class PlatformService {
         return platformOverride.isResolvable() ? platformOverride.get() : PlatformOverride.DEFAULT_PLATFORM_OVERRIDE;
     }
 
-    private void reloadPlatformServiceCache() throws RegistryResolutionException, IOException, QuarkusCommandException {
+    private boolean loadSnapshot() {
+        Optional<Path> snapshotFile = platformConfig.getSnapshotFile();
+        if (platformConfig.getOfflineCatalog().isPresent() || snapshotFile.isEmpty()
+                || !Files.isRegularFile(snapshotFile.get())) {
+            return false;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            updatePlatformServiceCache(PlatformCacheSnapshot.read(snapshotFile.get()), true);
+            Log.infof("Platform snapshot %s loaded in %dms", snapshotFile.get(), System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            Log.warnf(e, "Could not load the platform snapshot %s [%s]", snapshotFile.get(), e.getLocalizedMessage());
+            return false;
+        }
+    }
+
+    private boolean updatePlatformServiceCache(PlatformCacheSnapshot snapshot, boolean fromSnapshot)
+            throws RegistryResolutionException, IOException, QuarkusCommandException {
+        return updatePlatformServiceCache(snapshot.platformCatalog(), snapshotSource(snapshot), fromSnapshot);
+    }
+
+    /**
+     * The streams without any extension are not saved in the snapshots, they get an empty catalog so that they are
+     * skipped as when they are loaded from the registry
+     */
+    static ExtensionCatalogSource snapshotSource(PlatformCacheSnapshot snapshot) {
+        return (streamKey, stream) -> {
+            ExtensionCatalog extensionCatalog = snapshot.extensionCatalogs().get(streamKey);
+            return extensionCatalog != null ? extensionCatalog : ExtensionCatalog.builder().setId(streamKey).build();
+        };
+    }
+
+    private void saveSnapshot() {
+        Optional<Path> snapshotFile = platformConfig.getSnapshotFile();
+        if (snapshotFile.isEmpty()) {
+            return;
+        }
+        PlatformServiceCache cache = platformsCache();
+        Map<String, ExtensionCatalog> extensionCatalogs = new HashMap<>();
+        cache.streamCatalogMap().forEach((streamKey, platformInfo) -> extensionCatalogs.put(streamKey,
+                platformInfo.extensionCatalog()));
+        try {
+            new PlatformCacheSnapshot(cache.platformCatalog(), extensionCatalogs).write(snapshotFile.get());
+        } catch (IOException e) {
+            Log.warnf(e, "Could not save the platform snapshot %s [%s]", snapshotFile.get(), e.getLocalizedMessage());
+        }
+    }
+
+    /**
+     * @return true if the cache has been updated
+     */
+    private boolean reloadPlatformServiceCache()
+            throws RegistryResolutionException, IOException, QuarkusCommandException {
+        if (platformConfig.getOfflineCatalog().isPresent()) {
+            // Same layout as the snapshots, there is no need to save one
+            return updatePlatformServiceCache(PlatformCacheSnapshot.read(platformConfig.getOfflineCatalog().get()),
+                    false);
+        }
         catalogResolver.clearRegistryCache();
         PlatformCatalog platformCatalog;
         if (platformConfig.getRegistryId().isEmpty()) {
@@ -207,6 +342,21 @@ public class PlatformService {
         } else {
             platformCatalog = catalogResolver.resolvePlatformCatalogFromRegistry(platformConfig.getRegistryId().get());
         }
+        if (updatePlatformServiceCache(platformCatalog,
+                (streamKey, stream) -> catalogResolver.resolveExtensionCatalog(
+                        stream.getRecommendedRelease().getMemberBoms()),
+                false)) {
+            saveSnapshot();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the cache has been updated
+     */
+    private boolean updatePlatformServiceCache(PlatformCatalog platformCatalog, ExtensionCatalogSource source,
+            boolean fromSnapshot) throws RegistryResolutionException, IOException, QuarkusCommandException {
         Map<String, PlatformInfo> updatedStreamCatalogMap = new HashMap<>();
         if (platformCatalog == null || platformCatalog.getMetadata() == null
                 || platformCatalog.getPlatforms() == null) {
@@ -220,66 +370,20 @@ public class PlatformService {
         if (platformServiceCacheRef.get() != null
                 && platformServiceCacheRef.get().platformTimestamp().equals(platformTimestamp)) {
             LOG.log(Level.FINE, "The platform cache is up to date with the registry");
-            return;
+            return false;
         }
         Collection<Platform> platforms = platformCatalog.getPlatforms();
         List<Stream> streams = new ArrayList<>();
-        for (Platform platform : platforms) {
-            for (PlatformStream stream : platform.getStreams()) {
-                PlatformRelease recommendedRelease = stream.getRecommendedRelease();
-                ExtensionCatalog extensionCatalog = catalogResolver
-                        .resolveExtensionCatalog(recommendedRelease.getMemberBoms());
-                List<CodeQuarkusExtension> codeQuarkusExtensions = processExtensions(extensionCatalog,
-                        getPlatformOverride());
-                String platformKey = platform.getPlatformKey();
-                String streamId = stream.getId();
-                String streamKey = createStreamKey(platformKey, streamId);
-                boolean lts = (boolean) stream.getMetadata().get("lts");
-                String minimumJavaVersion = getMinimumJavaVersion(extensionCatalog);
-                final Optional<String> catalogRecommendedJavaVersion = Optional
-                        .ofNullable(getRecommendedJavaVersion(extensionCatalog));
-                SortedSet<Integer> compatibleJavaLTSVersions = getCompatibleLTSVersions(
-                        new JavaVersion(minimumJavaVersion));
-                if (catalogRecommendedJavaVersion.isPresent()) {
-                    // We use the recommended Java version as maximum
-                    compatibleJavaLTSVersions = compatibleJavaLTSVersions.stream()
-                            .filter(v -> v <= new JavaVersion(catalogRecommendedJavaVersion.get()).getAsInt())
-                            .collect(Collectors.toCollection(TreeSet::new));
-                }
-                int recommendedJavaVersion = catalogRecommendedJavaVersion
-                        .map(Integer::parseInt).orElse(compatibleJavaLTSVersions.stream().findFirst().orElseThrow());
-                String quarkusCoreVersion = stream.getRecommendedRelease().getQuarkusCoreVersion();
-                boolean recommended = stream.getId().equals(platform.getRecommendedStream().getId());
-                final String platformVersion = stream.getRecommendedRelease().getVersion().toString();
-                Stream.JavaCompatibility javaCompatibility = new Stream.JavaCompatibility(compatibleJavaLTSVersions,
-                        recommendedJavaVersion);
-                // Allow platform override to modify Java compatibility
-                javaCompatibility = getPlatformOverride().javaCompatibilityMapper(streamKey, javaCompatibility);
-                Stream streamInfo = Stream.builder()
-                        .key(streamKey)
-                        .quarkusCoreVersion(quarkusCoreVersion)
-                        .javaCompatibility(javaCompatibility)
-                        .lts(lts)
-                        .platformVersion(platformVersion)
-                        .recommended(recommended)
-                        .status(getStreamStatus(quarkusCoreVersion))
-                        .build();
-                PlatformInfo platformInfo = new PlatformInfo(
-                        platformKey,
-                        streamInfo,
-                        quarkusCoreVersion,
-                        platformVersion,
-                        recommended,
-                        codeQuarkusExtensions,
-                        extensionCatalog);
-                if (!codeQuarkusExtensions.isEmpty()) {
-                    streams.add(streamInfo);
-                    updatedStreamCatalogMap.put(streamKey, platformInfo);
-                } else {
-                    LOG.warning("No extension found for streamKey: %s (skipping)".formatted(streamKey));
-                }
+        for (PlatformInfo platformInfo : loadStreams(platforms, source)) {
+            String streamKey = platformInfo.stream().key();
+            if (!platformInfo.codeQuarkusExtensions().isEmpty()) {
+                streams.add(platformInfo.stream());
+                updatedStreamCatalogMap.put(streamKey, platformInfo);
+            } else {
+                LOG.warning("No extension found for streamKey: %s (skipping)".formatted(streamKey));
             }
         }
+        String catalogTag = catalogTag(platformTimestamp);
         PlatformServiceCache newCache = new PlatformServiceCache(
                 createStreamKey(
                         platformCatalog.getRecommendedPlatform().getPlatformKey(),
@@ -288,11 +392,17 @@ public class PlatformService {
                 platformCatalog,
                 updatedStreamCatalogMap,
                 LocalDateTime.now(ZoneOffset.UTC),
-                platformTimestamp);
+                platformTimestamp,
+                catalogTag,
+                createExtensionsPayloads(catalogTag, updatedStreamCatalogMap));
 
-        checkNewCache(newCache);
+        // The snapshot streams have been checked when they were loaded from the registry
+        checkNewCache(newCache, !fromSnapshot);
 
         platformServiceCacheRef.set(newCache);
+        metrics.platformInfosLoaded(newCache.streamCatalogMap());
+        archiveCache.invalidate(platformTimestamp);
+        archiveCacheWarmer.warmUp(newCache.streamCatalogMap(), allPresets(), this::platformInfo);
         Log.infof("""
                 PlatformService cache has been reloaded successfully:
                 platform timestamp: %s
@@ -306,9 +416,166 @@ public class PlatformService {
                 recommendedPlatformInfo().platformVersion(),
                 recommendedCodeQuarkusExtensions().size(),
                 String.join(", ", updatedStreamCatalogMap.keySet()));
+        return true;
+    }
+
+    /**
+     * Only the streams which changed since the previous reload are processed again, the others reuse the existing
+     * {@link PlatformInfo}
+     */
+    private List<PlatformInfo> loadStreams(Collection<Platform> platforms, ExtensionCatalogSource source)
+            throws RegistryResolutionException, IOException, QuarkusCommandException {
+        PlatformServiceCache previous = platformServiceCacheRef.get();
+        Map<String, Callable<PlatformInfo>> tasks = new LinkedHashMap<>();
+        AtomicInteger reused = new AtomicInteger();
+        for (Platform platform : platforms) {
+            for (PlatformStream stream : platform.getStreams()) {
+                String streamKey = createStreamKey(platform.getPlatformKey(), stream.getId());
+                PlatformInfo existing = previous != null ? previous.streamCatalogMap().get(streamKey) : null;
+                tasks.put(streamKey, () -> {
+                    long start = System.nanoTime();
+                    ExtensionCatalog extensionCatalog = source.extensionCatalog(streamKey, stream);
+                    if (existing != null && isUnchanged(existing, platform, stream, extensionCatalog)) {
+                        reused.incrementAndGet();
+                        return existing;
+                    }
+                    PlatformInfo platformInfo = loadStream(platform, stream, extensionCatalog);
+                    metrics.recordStreamLoad(streamKey, start);
+                    return platformInfo;
+                });
+            }
+        }
+        List<PlatformInfo> platformInfos = runPerStream("platform-stream-loader", tasks);
+        Log.infof("Loaded %d stream(s), %d unchanged stream(s) reused", tasks.size() - reused.get(), reused.get());
+        return platformInfos;
+    }
+
+    /**
+     * The resolved stream catalogs also contain the non platform extensions of the registry, they are released
+     * without any platform release so they have to be compared too
+     */
+    static boolean isUnchanged(PlatformInfo existing, Platform platform, PlatformStream stream,
+            ExtensionCatalog extensionCatalog) {
+        return existing.platformVersion().equals(stream.getRecommendedRelease().getVersion().toString())
+                && existing.quarkusCoreVersion().equals(stream.getRecommendedRelease().getQuarkusCoreVersion())
+                && existing.recommended() == stream.getId().equals(platform.getRecommendedStream().getId())
+                && existing.stream().lts() == (boolean) stream.getMetadata().get("lts")
+                && existing.extensionCatalog() != null
+                && nonPlatformExtensions(existing.extensionCatalog()).equals(nonPlatformExtensions(extensionCatalog));
+    }
+
+    private static Set<String> nonPlatformExtensions(ExtensionCatalog extensionCatalog) {
+        return extensionCatalog.getExtensions().stream()
+                .filter(not(Extension::hasPlatformOrigin))
+                .map(extension -> extension.getArtifact().toString())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Run the tasks concurrently (bounded), each stream task has its own timeout starting when it runs (not while it is
+     * queued) and the results are in the tasks order. The first failure is thrown without waiting for the other tasks.
+     */
+    private <T> List<T> runPerStream(String name, Map<String, Callable<T>> tasks)
+            throws RegistryResolutionException, IOException, QuarkusCommandException {
+        ExecutorService executor = Executors.newFixedThreadPool(platformConfig.getReloadParallelism(), r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long timeout = platformConfig.getStreamTimeout().toMillis();
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+            tasks.forEach((streamKey, task) -> {
+                CompletableFuture<T> future = new CompletableFuture<>();
+                future.whenComplete((result, failure) -> {
+                    if (failure instanceof TimeoutException) {
+                        done.completeExceptionally(new IOException("Timeout for stream: " + streamKey, failure));
+                    } else if (failure != null) {
+                        done.completeExceptionally(failure);
+                    }
+                });
+                executor.execute(() -> {
+                    future.orTimeout(timeout, TimeUnit.MILLISECONDS);
+                    try {
+                        future.complete(task.call());
+                    } catch (RegistryResolutionException | IOException | QuarkusCommandException | RuntimeException e) {
+                        future.completeExceptionally(e);
+                    } catch (Exception e) {
+                        future.completeExceptionally(new IOException("Failure for stream: " + streamKey, e));
+                    }
+                });
+                futures.add(future);
+            });
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenRun(() -> done.complete(null));
+            try {
+                done.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while running " + name, e);
+            } catch (ExecutionException e) {
+                switch (e.getCause()) {
+                    case RegistryResolutionException r -> throw r;
+                    case QuarkusCommandException q -> throw q;
+                    case IOException i -> throw i;
+                    case RuntimeException r -> throw r;
+                    default -> throw new IOException("Failure while running " + name, e.getCause());
+                }
+            }
+            return futures.stream().map(CompletableFuture::join).toList();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private PlatformInfo loadStream(Platform platform, PlatformStream stream, ExtensionCatalog extensionCatalog) {
+        List<CodeQuarkusExtension> codeQuarkusExtensions = processExtensions(extensionCatalog,
+                getPlatformOverride());
+        String platformKey = platform.getPlatformKey();
+        String streamId = stream.getId();
+        String streamKey = createStreamKey(platformKey, streamId);
+        boolean lts = (boolean) stream.getMetadata().get("lts");
+        String minimumJavaVersion = getMinimumJavaVersion(extensionCatalog);
+        final Optional<String> catalogRecommendedJavaVersion = Optional
+                .ofNullable(getRecommendedJavaVersion(extensionCatalog));
+        SortedSet<Integer> compatibleJavaLTSVersions = getCompatibleLTSVersions(
+                new JavaVersion(minimumJavaVersion));
+        if (catalogRecommendedJavaVersion.isPresent()) {
+            // We use the recommended Java version as maximum
+            compatibleJavaLTSVersions = compatibleJavaLTSVersions.stream()
+                    .filter(v -> v <= new JavaVersion(catalogRecommendedJavaVersion.get()).getAsInt())
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+        int recommendedJavaVersion = catalogRecommendedJavaVersion
+                .map(Integer::parseInt).orElse(compatibleJavaLTSVersions.stream().findFirst().orElseThrow());
+        String quarkusCoreVersion = stream.getRecommendedRelease().getQuarkusCoreVersion();
+        boolean recommended = stream.getId().equals(platform.getRecommendedStream().getId());
+        final String platformVersion = stream.getRecommendedRelease().getVersion().toString();
+        Stream.JavaCompatibility javaCompatibility = new Stream.JavaCompatibility(compatibleJavaLTSVersions,
+                recommendedJavaVersion);
+        // Allow platform override to modify Java compatibility
+        javaCompatibility = getPlatformOverride().javaCompatibilityMapper(streamKey, javaCompatibility);
+        Stream streamInfo = Stream.builder()
+                .key(streamKey)
+                .quarkusCoreVersion(quarkusCoreVersion)
+                .javaCompatibility(javaCompatibility)
+                .lts(lts)
+                .platformVersion(platformVersion)
+                .recommended(recommended)
+                .status(getStreamStatus(quarkusCoreVersion))
+                .build();
+        return new PlatformInfo(
+                platformKey,
+                streamInfo,
+                quarkusCoreVersion,
+                platformVersion,
+                recommended,
+                codeQuarkusExtensions,
+                extensionCatalog);
     }
 
-    private void checkNewCache(PlatformServiceCache newCache) throws IOException, QuarkusCommandException {
+    private void checkNewCache(PlatformServiceCache newCache, boolean checkProjectCreation)
+            throws RegistryResolutionException, IOException, QuarkusCommandException {
         // Only replace the existing values if we successfully fetched new values
         if (newCache.streamCatalogMap().isEmpty()) {
             throw new RuntimeException("No stream found");
@@ -320,41 +587,96 @@ public class PlatformService {
                     "Recommended stream not found in stream catalog: " + newCache.recommendedStreamKey());
         }
 
-        if (LaunchMode.current().isDevOrTest()) {
-            // skip the rest of the checks in dev/test mode
+        if (LaunchMode.current().isDevOrTest() || !checkProjectCreation) {
+            // skip the rest of the checks in dev/test mode (and for snapshots)
             return;
         }
 
-        for (Map.Entry<String, PlatformInfo> entry : newCache.streamCatalogMap().entrySet()) {
-            if (entry.getValue().codeQuarkusExtensions().isEmpty()) {
-                throw new IllegalStateException("No extension found in the stream: " + entry.getKey());
+        PlatformServiceCache previous = platformServiceCacheRef.get();
+        Map<String, Callable<Void>> checks = new LinkedHashMap<>();
+        newCache.streamCatalogMap().forEach((streamKey, platformInfo) -> {
+            if (previous != null && previous.streamCatalogMap().get(streamKey) == platformInfo) {
+                // Already checked when it was loaded
+                return;
             }
-            projectService.createTmp(
-                    entry.getValue(),
-                    ProjectDefinition.builder().streamKey(entry.getKey())
-                            .extensions(Set.of("resteasy", "resteasy-jackson", "hibernate-validator")).build(),
-                    false,
-                    true);
+            checks.put(streamKey, () -> {
+                checkStream(streamKey, platformInfo);
+                return null;
+            });
+        });
+        runPerStream("platform-stream-check", checks);
+    }
 
-            Set<String> extensions = entry.getValue().extensionsById().containsKey("io.quarkus:quarkus-rest")
-                    ? Set.of("rest", "rest-jackson", "hibernate-validator")
-                    : Set.of("resteasy-reactive", "resteasy-reactive-jackson", "hibernate-validator");
+    private void checkStream(String streamKey, PlatformInfo platformInfo) throws IOException, QuarkusCommandException {
+        if (platformInfo.codeQuarkusExtensions().isEmpty()) {
+            throw new IllegalStateException("No extension found in the stream: " + streamKey);
+        }
+        long start = System.currentTimeMillis();
+        checkProjectCreation(
+                platformInfo,
+                ProjectDefinition.builder().streamKey(streamKey)
+                        .extensions(Set.of("resteasy", "resteasy-jackson", "hibernate-validator")).build());
+
+        Set<String> extensions = platformInfo.extensionsById().containsKey("io.quarkus:quarkus-rest")
+                ? Set.of("rest", "rest-jackson", "hibernate-validator")
+                : Set.of("resteasy-reactive", "resteasy-reactive-jackson", "hibernate-validator");
+
+        checkProjectCreation(
+                platformInfo,
+                ProjectDefinition.builder().streamKey(streamKey)
+                        .extensions(extensions)
+                        .build());
+        checkProjectCreation(
+                platformInfo,
+                ProjectDefinition.builder().streamKey(streamKey).extensions(Set.of("spring-web")).build());
+        Log.infof("Stream %s checked in %dms", streamKey, System.currentTimeMillis() - start);
+    }
 
-            projectService.createTmp(
-                    entry.getValue(),
-                    ProjectDefinition.builder().streamKey(entry.getKey())
-                            .extensions(extensions)
-                            .build(),
-                    false,
-                    true);
-            projectService.createTmp(
-                    entry.getValue(),
-                    ProjectDefinition.builder().streamKey(entry.getKey()).extensions(Set.of("spring-web")).build(),
-                    false,
+    private void checkProjectCreation(PlatformInfo platformInfo, ProjectDefinition projectDefinition)
+            throws IOException, QuarkusCommandException {
+        try (Workspace workspace = workspaceService.create()) {
+            projectService.create(workspace, CodeQuarkusMetrics.Origin.CHECK, platformInfo, projectDefinition, false,
                     true);
         }
     }
 
+    private Map<String, CatalogPayload> createExtensionsPayloads(String catalogTag,
+            Map<String, PlatformInfo> streamCatalogMap) throws JsonProcessingException {
+        PlatformServiceCache previous = platformServiceCacheRef.get();
+        Map<String, CatalogPayload> payloads = new HashMap<>();
+        for (Map.Entry<String, PlatformInfo> entry : streamCatalogMap.entrySet()) {
+            for (boolean platformOnly : new boolean[] { true, false }) {
+                if (previous != null && previous.streamCatalogMap().get(entry.getKey()) == entry.getValue()) {
+                    // Same content, the payload and its ETag are still valid
+                    String key = payloadKey(entry.getKey(), platformOnly);
+                    payloads.put(key, previous.extensionsPayloads().get(key));
+                    continue;
+                }
+                List<CodeQuarkusExtension> extensions = entry.getValue().codeQuarkusExtensions().stream()
+                        .filter(e -> !platformOnly || e.platform())
+                        .toList();
+                String key = payloadKey(entry.getKey(), platformOnly);
+                String etag = catalogTag + "-" + Integer.toHexString(key.hashCode());
+                payloads.put(key, CatalogPayload.of(etag, objectMapper.writeValueAsBytes(extensions)));
+            }
+        }
+        return payloads;
+    }
+
+    private static String payloadKey(String streamKey, boolean platformOnly) {
+        return "extensions:" + streamKey + ":" + platformOnly;
+    }
+
+    private static String catalogTag(String platformTimestamp) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(platformTimestamp.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     static String getStreamStatus(String version) {
         for (String part : version.split("[.-]")) {
             if (part.equalsIgnoreCase("redhat")) {
@@ -386,12 +708,19 @@ public class PlatformService {
     private static final Logger LOG = Logger.getLogger(PlatformService.class.getName());
     private static final String SEPARATOR = ":";
 
+    @FunctionalInterface
+    interface ExtensionCatalogSource {
+        ExtensionCatalog extensionCatalog(String streamKey, PlatformStream stream) throws RegistryResolutionException;
+    }
+
     public record PlatformServiceCache(
             String recommendedStreamKey,
             List<Stream> streams,
             PlatformCatalog platformCatalog,
             Map<String, PlatformInfo> streamCatalogMap,
             LocalDateTime cacheLastUpdated,
-            String platformTimestamp) {
+            String platformTimestamp,
+            String catalogTag,
+            Map<String, CatalogPayload> extensionsPayloads) {
     }
 }
@@ -0,0 +1,173 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.ArchiveCacheConfig;
+import io.quarkus.code.model.ProjectDefinition;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Content-addressed cache of generated project archives.
+ * <p>
+ * Archives are keyed on a hash of the normalized project definition, the resolved extensions and the platform
+ * (timestamp and stream release), they are kept in memory with a size-bounded LRU eviction and dropped on catalog reload.
+ */
+@Singleton
+public class ProjectArchiveCache {
+
+    private static final int MAX_TRACKED_REQUESTS = 10_000;
+
+    @Inject
+    ArchiveCacheConfig config;
+
+    private final LinkedHashMap<String, byte[]> archives = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Map<ProjectDefinition, LongAdder> requests = new ConcurrentHashMap<>();
+    private long size;
+    private long generation;
+    private String platformTimestamp = "";
+
+    public boolean isEnabled() {
+        return config.enabled();
+    }
+
+    public String key(PlatformInfo platformInfo, ProjectDefinition projectDefinition, Collection<String> extensions) {
+        StringBuilder canonical = new StringBuilder();
+        synchronized (this) {
+            append(canonical, "platformTimestamp", platformTimestamp);
+        }
+        append(canonical, "streamKey", platformInfo.stream().key());
+        append(canonical, "platformVersion", platformInfo.platformVersion());
+        append(canonical, "quarkusCoreVersion", platformInfo.quarkusCoreVersion());
+        append(canonical, "groupId", projectDefinition.groupId());
+        append(canonical, "artifactId", projectDefinition.artifactId());
+        append(canonical, "version", projectDefinition.version());
+        append(canonical, "className", projectDefinition.className());
+        append(canonical, "path", projectDefinition.path());
+        append(canonical, "buildTool", projectDefinition.buildTool());
+        append(canonical, "javaVersion", projectDefinition.javaVersion() != null ? projectDefinition.javaVersion()
+                : platformInfo.stream().javaCompatibility().recommended());
+        append(canonical, "noCode", projectDefinition.noCode() || projectDefinition.noExamples());
+        append(canonical, "noWrapper", projectDefinition.noWrapper());
+        append(canonical, "noDockerfiles", projectDefinition.noDockerfiles());
+        append(canonical, "extensions", new TreeSet<>(extensions));
+        append(canonical, "extraCodestarts", new TreeSet<>(projectDefinition.extraCodestarts()));
+        append(canonical, "codestartData", new TreeMap<>(projectDefinition.codestartData()));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public synchronized byte[] get(String key) {
+        byte[] archive = archives.get(key);
+        if (archive != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return archive;
+    }
+
+    /**
+     * The archives bigger than this are not cached
+     */
+    public long maxEntrySize() {
+        return config.maxEntrySize().asLongValue();
+    }
+
+    /**
+     * Return a ticket to put an archive once generated, archives generated before an invalidation are ignored.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(String key, byte[] archive, long generation) {
+        if (generation != this.generation || archive.length > config.maxEntrySize().asLongValue()) {
+            return;
+        }
+        byte[] previous = archives.put(key, archive);
+        size += archive.length - (previous != null ? previous.length : 0);
+        var it = archives.entrySet().iterator();
+        long maxSize = config.maxSize().asLongValue();
+        while (size > maxSize && it.hasNext()) {
+            size -= it.next().getValue().length;
+            it.remove();
+        }
+    }
+
+    public synchronized void invalidate(String platformTimestamp) {
+        this.platformTimestamp = platformTimestamp;
+        this.generation++;
+        archives.clear();
+        size = 0;
+        // Decay the popularity so that only recent configurations stay on top
+        requests.values().forEach(count -> {
+            long decayed = count.sumThenReset() / 2;
+            count.add(decayed);
+        });
+        requests.values().removeIf(count -> count.sum() == 0);
+    }
+
+    /**
+     * Record a requested configuration to find the most popular ones.
+     */
+    public void recordRequest(ProjectDefinition projectDefinition) {
+        LongAdder count = requests.get(projectDefinition);
+        if (count == null) {
+            if (requests.size() >= MAX_TRACKED_REQUESTS) {
+                return;
+            }
+            count = requests.computeIfAbsent(projectDefinition, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    public List<ProjectDefinition> mostPopular(int limit) {
+        return requests.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<ProjectDefinition, LongAdder> e) -> e.getValue().sum())
+                        .reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    public synchronized int count() {
+        return archives.size();
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    public long hits() {
+        return hits.get();
+    }
+
+    public long misses() {
+        return misses.get();
+    }
+
+    private static void append(StringBuilder canonical, String name, Object value) {
+        canonical.append(name).append('=').append(Objects.toString(value, "")).append('\n');
+    }
+}
@@ -0,0 +1,116 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.ArchiveCacheConfig;
+import io.quarkus.code.model.Preset;
+import io.quarkus.code.model.ProjectDefinition;
+import io.quarkus.logging.Log;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Fills the {@link ProjectArchiveCache} in the background after a catalog reload so that the presets and the most
+ * popular configurations are served from memory from the first request.
+ * <p>
+ * The warm-up generations take their permits from the {@link DownloadLimiter}, they are never more than the downloads
+ * limit allows.
+ */
+@Singleton
+public class ProjectArchiveCacheWarmer {
+
+    @Inject
+    ArchiveCacheConfig config;
+
+    @Inject
+    ProjectArchiveCache archiveCache;
+
+    @Inject
+    QuarkusProjectService projectService;
+
+    @Inject
+    DownloadLimiter downloadLimiter;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "archive-cache-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * @param streamCatalogMap the streams of the new catalog
+     * @param presets the presets to generate for each stream
+     * @param platformInfoResolver resolves the stream of a previously requested configuration
+     */
+    public void warmUp(Map<String, PlatformInfo> streamCatalogMap, List<Preset> presets,
+            Function<String, PlatformInfo> platformInfoResolver) {
+        if (!config.enabled() || !config.warmUp()) {
+            return;
+        }
+        long generation = archiveCache.generation();
+        List<ProjectDefinition> popular = archiveCache.mostPopular(config.warmUpTopConfigurations());
+        executor.execute(() -> {
+            long start = System.currentTimeMillis();
+            int count = 0;
+            for (Map.Entry<String, PlatformInfo> entry : streamCatalogMap.entrySet()) {
+                for (Preset preset : presets) {
+                    if (!entry.getValue().extensionsById().keySet().containsAll(preset.extensions())) {
+                        continue;
+                    }
+                    ProjectDefinition projectDefinition = ProjectDefinition.builder()
+                            .streamKey(entry.getKey())
+                            .extensions(new HashSet<>(preset.extensions()))
+                            .build();
+                    if (!warmUp(generation, entry.getValue(), projectDefinition, "preset " + preset.key())) {
+                        return;
+                    }
+                    count++;
+                }
+            }
+            for (ProjectDefinition projectDefinition : new ArrayList<>(popular)) {
+                PlatformInfo platformInfo;
+                try {
+                    platformInfo = platformInfoResolver.apply(projectDefinition.streamKey());
+                } catch (IllegalArgumentException e) {
+                    // The stream is not available anymore
+                    continue;
+                }
+                if (!warmUp(generation, platformInfo, projectDefinition, "a popular configuration")) {
+                    return;
+                }
+                count++;
+            }
+            Log.infof("Archive cache warmed up with %d project(s) in %dms", count, System.currentTimeMillis() - start);
+        });
+    }
+
+    private boolean warmUp(long generation, PlatformInfo platformInfo, ProjectDefinition projectDefinition,
+            String description) {
+        if (archiveCache.generation() != generation) {
+            // A newer catalog has been loaded, it will be warmed up on its own
+            return false;
+        }
+        try {
+            downloadLimiter.call(() -> {
+                projectService.warmUpArchive(platformInfo, projectDefinition);
+                return null;
+            });
+        } catch (Exception e) {
+            Log.warnf(e, "Could not warm up the archive cache with %s of stream %s", description,
+                    platformInfo.stream().key());
+        }
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -1,5 +1,6 @@
 package io.quarkus.code.service;
 
+import io.quarkus.code.misc.QuarkusProjectZipUtils;
 import io.quarkus.code.model.ProjectDefinition;
 import io.quarkus.devtools.codestarts.CodestartException;
 import io.quarkus.devtools.commands.CreateProject;
@@ -10,11 +11,10 @@ import io.quarkus.devtools.project.BuildTool;
 import io.quarkus.devtools.project.JavaVersion;
 import io.quarkus.devtools.project.QuarkusProject;
 import io.quarkus.devtools.project.QuarkusProjectHelper;
-
-import io.quarkus.devtools.project.compress.QuarkusProjectCompress;
 import jakarta.enterprise.inject.Instance;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PrintStream;
@@ -29,14 +29,90 @@ public class QuarkusProjectService {
     @Inject
     Instance<PlatformOverride> platformOverride;
 
+    @Inject
+    WorkspaceService workspaceService;
+
+    @Inject
+    ProjectArchiveCache archiveCache;
+
+    @Inject
+    CodeQuarkusMetrics metrics;
+
     public byte[] create(PlatformInfo platformInfo, ProjectDefinition projectDefinition)
             throws IOException, QuarkusCommandException {
-        Path path = createTmp(platformInfo, projectDefinition);
-        long time = System.currentTimeMillis() - 24 * 3600000;
-        Path zipPath = Files.createTempDirectory("zipped-").resolve("project.zip");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        createArchive(platformInfo, projectDefinition).writeTo(out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Generate the project and return an archive which zips it on the fly into the given output stream.
+     * Generation errors are thrown here, before anything is written to the response.
+     */
+    public ProjectArchive createArchive(PlatformInfo platformInfo, ProjectDefinition projectDefinition)
+            throws IOException, QuarkusCommandException {
+        if (archiveCache == null || !archiveCache.isEnabled()) {
+            return generateArchive(CodeQuarkusMetrics.Origin.DOWNLOAD, platformInfo, projectDefinition);
+        }
+        return createCachedArchive(CodeQuarkusMetrics.Origin.DOWNLOAD, platformInfo, projectDefinition);
+    }
 
-        QuarkusProjectCompress.zip(path, zipPath, true, time);
-        return Files.readAllBytes(zipPath);
+    /**
+     * Generate the project archive in the cache if not already there (without counting it as a request).
+     */
+    public void warmUpArchive(PlatformInfo platformInfo, ProjectDefinition projectDefinition)
+            throws IOException, QuarkusCommandException {
+        createCachedArchive(CodeQuarkusMetrics.Origin.WARMUP, platformInfo, projectDefinition)
+                .writeTo(OutputStream.nullOutputStream());
+    }
+
+    private ProjectArchive createCachedArchive(CodeQuarkusMetrics.Origin origin, PlatformInfo platformInfo,
+            ProjectDefinition projectDefinition) throws IOException, QuarkusCommandException {
+        long generation = archiveCache.generation();
+        String key = archiveCache.key(platformInfo, projectDefinition,
+                platformInfo.checkAndMergeExtensions(projectDefinition.extensions()));
+        byte[] cached = archiveCache.get(key);
+        if (cached != null) {
+            recordRequest(origin, projectDefinition);
+            return out -> out.write(cached);
+        }
+        ProjectArchive archive = generateArchive(origin, platformInfo, projectDefinition);
+        // Only the valid projects are counted, the invalid ones are rejected by the generation
+        recordRequest(origin, projectDefinition);
+        return out -> {
+            BoundedCopyOutputStream copy = new BoundedCopyOutputStream(out, archiveCache.maxEntrySize());
+            archive.writeTo(copy);
+            if (!copy.overflowed()) {
+                archiveCache.put(key, copy.toByteArray(), generation);
+            }
+        };
+    }
+
+    private void recordRequest(CodeQuarkusMetrics.Origin origin, ProjectDefinition projectDefinition) {
+        if (origin == CodeQuarkusMetrics.Origin.DOWNLOAD) {
+            archiveCache.recordRequest(projectDefinition);
+        }
+    }
+
+    private ProjectArchive generateArchive(CodeQuarkusMetrics.Origin origin, PlatformInfo platformInfo,
+            ProjectDefinition projectDefinition) throws IOException, QuarkusCommandException {
+        Workspace workspace = createWorkspace();
+        Path path;
+        try {
+            path = create(workspace, origin, platformInfo, projectDefinition, false, false);
+        } catch (IOException | QuarkusCommandException | RuntimeException e) {
+            workspace.close();
+            throw e;
+        }
+        long time = System.currentTimeMillis() - 24 * 3600000;
+        return out -> {
+            long start = System.nanoTime();
+            try (workspace) {
+                QuarkusProjectZipUtils.zip(path, out, time);
+            } finally {
+                metrics().record(origin, CodeQuarkusMetrics.Phase.ZIP, start);
+            }
+        };
     }
 
     public Path createTmp(
@@ -57,21 +133,58 @@ public class QuarkusProjectService {
             ProjectDefinition projectDefinition,
             boolean isGitHub,
             boolean silent) throws IOException, QuarkusCommandException {
-        Path location = Files.createTempDirectory("generated-").resolve(projectDefinition.artifactId());
-        createProject(platformInfo, projectDefinition, location, isGitHub, silent);
+        // The workspace is not closed, it will be reclaimed by the sweeper
+        Workspace workspace = createWorkspace();
+        try {
+            return create(workspace, isGitHub ? CodeQuarkusMetrics.Origin.GITHUB : CodeQuarkusMetrics.Origin.DOWNLOAD,
+                    platformInfo, projectDefinition, isGitHub, silent);
+        } finally {
+            workspace.detach();
+        }
+    }
+
+    /**
+     * Generate the project in the given workspace, it is deleted with the workspace.
+     */
+    public Path create(
+            Workspace workspace,
+            CodeQuarkusMetrics.Origin origin,
+            PlatformInfo platformInfo,
+            ProjectDefinition projectDefinition,
+            boolean isGitHub,
+            boolean silent) throws IOException, QuarkusCommandException {
+        Path location = workspace.dir().resolve(projectDefinition.artifactId());
+        metrics().generationStarted(origin);
+        try {
+            createProject(origin, platformInfo, projectDefinition, location, isGitHub, silent);
+        } finally {
+            metrics().generationEnded(origin);
+        }
         if (platformOverride != null && platformOverride.isResolvable()) {
             platformOverride.get().onNewProject(projectDefinition, location);
         }
         return location;
     }
 
+    private CodeQuarkusMetrics metrics() {
+        return metrics != null ? metrics : CodeQuarkusMetrics.NOOP;
+    }
+
+    private Workspace createWorkspace() throws IOException {
+        return workspaceService != null ? workspaceService.create() : WorkspaceService.unmanaged();
+    }
+
     private void createProject(
+            CodeQuarkusMetrics.Origin origin,
             PlatformInfo platformInfo,
             ProjectDefinition projectDefinition,
             Path projectFolderPath,
             boolean gitHub,
             boolean silent) throws IOException, QuarkusCommandException {
+        long start = System.nanoTime();
         Set<String> extensions = platformInfo.checkAndMergeExtensions(projectDefinition.extensions());
+        metrics().record(origin, CodeQuarkusMetrics.Phase.RESOLUTION, start);
+        start = System.nanoTime();
         BuildTool buildTool = BuildTool.valueOf(projectDefinition.buildTool());
         HashSet<String> codestarts = new HashSet<>();
         String javaVersionString = Integer.toString(projectDefinition.javaVersion() != null ? projectDefinition.javaVersion()
@@ -92,6 +205,7 @@ public class QuarkusProjectService {
                     "This Java version is not yet compatible with Kotlin and Scala using Quarkus (max:"
                             + JavaVersion.MAX_LTS_SUPPORTED_BY_KOTLIN + "): " + javaVersionString);
         }
+        metrics().record(origin, CodeQuarkusMetrics.Phase.VALIDATION, start);
         try (PrintStream out = createPrintStream(silent)) {
             MessageWriter messageWriter = createMessageWriter(out);
             QuarkusProject project = QuarkusProjectHelper.getProject(
@@ -121,7 +235,13 @@ public class QuarkusProjectService {
                 projectDefinitionCreateProject
                         .quarkusGradlePluginVersion(platformInfo.quarkusCoreVersion().replace("-redhat-.*", ""));
             }
-            QuarkusCommandOutcome result = projectDefinitionCreateProject.execute();
+            start = System.nanoTime();
+            QuarkusCommandOutcome result;
+            try {
+                result = projectDefinitionCreateProject.execute();
+            } finally {
+                metrics().record(origin, CodeQuarkusMetrics.Phase.CREATE, start);
+            }
             if (!result.isSuccess()) {
                 throw new IOException("Error during Quarkus project creation");
             }
@@ -144,4 +264,60 @@ public class QuarkusProjectService {
         return out != null ? MessageWriter.info(out) : MessageWriter.info();
     }
 
+    /**
+     * Writes to the given output stream and keeps a copy of what was written, the copy is released as soon as it grows
+     * past the max size
+     */
+    private static final class BoundedCopyOutputStream extends OutputStream {
+        private final OutputStream out;
+        private final long maxSize;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private BoundedCopyOutputStream(OutputStream out, long maxSize) {
+            this.out = out;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (reserve(1)) {
+                copy.write(b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (reserve(len)) {
+                copy.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        private boolean reserve(int len) {
+            if (copy != null && copy.size() + (long) len > maxSize) {
+                copy = null;
+            }
+            return copy != null;
+        }
+
+        private boolean overflowed() {
+            return copy == null;
+        }
+
+        private byte[] toByteArray() {
+            return copy.toByteArray();
+        }
+    }
+
+    @FunctionalInterface
+    public interface ProjectArchive {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
 }
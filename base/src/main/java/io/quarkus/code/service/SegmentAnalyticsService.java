@@ -1,19 +1,32 @@
 package io.quarkus.code.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Strings;
 import com.segment.analytics.Analytics;
+import com.segment.analytics.Callback;
+import com.segment.analytics.messages.Message;
 import com.segment.analytics.messages.TrackMessage;
 import io.quarkus.code.config.CodeQuarkusConfig;
 import io.quarkus.code.config.SegmentConfig;
 
 import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PreDestroy;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.jboss.logging.Logger.Level;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -25,16 +38,66 @@ public class SegmentAnalyticsService {
 
     public static final Pattern USER_AGENT_PATTERN = Pattern.compile("^\\S+/\\S+ (\\S+).*$");
 
+    private static final int DEFAULT_FLUSH_QUEUE_SIZE = 30;
+
+    /**
+     * An event written to the spool
+     */
+    record SpooledEvent(String messageId, String event, String anonymousId, long timestamp,
+            Map<String, Object> properties, Map<String, Object> context) {
+    }
+
+    /**
+     * The spooled events being sent, they are acknowledged once all of them have been accepted by Segment
+     */
+    private static final class SendingBatch {
+        private final Set<String> pending = ConcurrentHashMap.newKeySet();
+        private CountDownLatch latch;
+        private volatile boolean failed;
+
+        private void done(Message message, boolean success) {
+            if (pending.remove(message.messageId())) {
+                failed |= !success;
+                latch.countDown();
+            }
+        }
+    }
+
     private String defaultUserAgent;
     private final CodeQuarkusConfig config;
     private final SegmentConfig segmentConfig;
+    private final ObjectMapper objectMapper;
     private final Analytics analytics;
+    private final AnalyticsRollups rollups;
+    private final AnalyticsSpool spool;
+    private volatile SendingBatch sendingBatch;
+    private long reportedDroppedRollups;
+    private long reportedDroppedSpool;
 
     @Inject
-    public SegmentAnalyticsService(CodeQuarkusConfig config, SegmentConfig segmentConfig) {
+    public SegmentAnalyticsService(CodeQuarkusConfig config, SegmentConfig segmentConfig, ObjectMapper objectMapper) {
         this.config = config;
         this.segmentConfig = segmentConfig;
+        this.objectMapper = objectMapper;
         this.analytics = createAnalytics();
+        this.rollups = segmentConfig.aggregate() ? new AnalyticsRollups(segmentConfig.aggregationMaxKeys()) : null;
+        this.spool = analytics != null ? createSpool() : null;
+    }
+
+    private AnalyticsSpool createSpool() {
+        if (segmentConfig.spoolDir().isEmpty()) {
+            return null;
+        }
+        try {
+            AnalyticsSpool spool = new AnalyticsSpool(segmentConfig.spoolDir().get(),
+                    (int) segmentConfig.spoolSegmentSize().asLongValue(), segmentConfig.spoolMaxSize().asLongValue());
+            Log.infof("Segment Analytics events are spooled in %s", segmentConfig.spoolDir().get());
+            return spool;
+        } catch (IOException e) {
+            Log.warnf(e, "Could not open the analytics spool in %s, events are sent directly",
+                    segmentConfig.spoolDir().get());
+            return null;
+        }
     }
 
     private Analytics createAnalytics() {
@@ -45,7 +108,7 @@ public class SegmentAnalyticsService {
                 System.getProperty("os.arch") + ", Java " +
                 System.getProperty("java.version") + ")";
         if (analytics == null && writeKey.filter(not(Strings::isNullOrEmpty)).isPresent()) {
-            int flushQueueSize = segmentConfig.flushQueueSize().orElse(30);
+            int flushQueueSize = segmentConfig.flushQueueSize().orElse(DEFAULT_FLUSH_QUEUE_SIZE);
             int flushIntervalSeconds = segmentConfig.flushIntervalSeconds().orElse(120);
             Log.infof("""
                     Segment Analytics is enabled:
@@ -60,6 +123,23 @@ public class SegmentAnalyticsService {
             return Analytics.builder(writeKey.get())
                     .flushInterval(flushIntervalSeconds, TimeUnit.SECONDS)
                     .flushQueueSize(flushQueueSize)
+                    .callback(new Callback() {
+                        @Override
+                        public void success(Message message) {
+                            SendingBatch batch = sendingBatch;
+                            if (batch != null) {
+                                batch.done(message, true);
+                            }
+                        }
+
+                        @Override
+                        public void failure(Message message, Throwable throwable) {
+                            SendingBatch batch = sendingBatch;
+                            if (batch != null) {
+                                batch.done(message, false);
+                            }
+                        }
+                    })
                     .build();
         }
         Log.info("Segment Analytics is disabled");
@@ -68,6 +148,10 @@ public class SegmentAnalyticsService {
 
     public void track(String event, Map<String, Object> properties, String source, String path, String url, String userAgent,
             String referer, String anonymousId) {
+        if (rollups != null) {
+            rollups.add(event, source, path, properties);
+            return;
+        }
         String fixedUserAgent = fixUserAgent(userAgent);
         String prefix = "[Segment] ";
         Level level = Level.DEBUG;
@@ -82,15 +166,15 @@ public class SegmentAnalyticsService {
                     "path", path,
                     "url", url,
                     "requestHeaders", requestHeaders);
-            analytics.enqueue(TrackMessage.builder(event)
-                    .anonymousId(anonymousId)
-                    .properties(properties.entrySet().stream().filter(e -> e.getValue() != null).collect(
-                            Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
-                    .context(props));
+            send(event, anonymousId, properties.entrySet().stream().filter(e -> e.getValue() != null).collect(
+                    Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)), props);
         } else {
             prefix = "[Disabled] ";
             level = Level.INFO;
         }
+        if (!Log.isEnabled(level)) {
+            return;
+        }
         Log.logf(level, """
                 %s sending analytics event "%s":
                     - properties: %s
@@ -105,6 +189,129 @@ public class SegmentAnalyticsService {
                 prefix, event, properties, fixedUserAgent, referer, hostName, anonymousId, source, url, path);
     }
 
+    /**
+     * Send the events counted since the previous flush as one event per rollup, the user agent, referer and anonymous
+     * id of the requests are not part of the rollups
+     */
+    @Scheduled(every = "{io.quarkus.code.segment.aggregation-flush-every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void flushRollups() {
+        if (rollups == null) {
+            return;
+        }
+        long dropped = rollups.dropped();
+        if (dropped != reportedDroppedRollups) {
+            Log.warnf("Too many distinct analytics rollups, %d event(s) dropped since startup", dropped);
+            reportedDroppedRollups = dropped;
+        }
+        String hostName = config.hostname().orElse("code.quarkus.io");
+        String anonymousId = UUID.nameUUIDFromBytes(hostName.getBytes()).toString();
+        String prefix = analytics != null ? "[Segment] " : "[Disabled] ";
+        Level level = analytics != null ? Level.DEBUG : Level.INFO;
+        for (AnalyticsRollups.Rollup rollup : rollups.drain()) {
+            Map<String, Object> properties = new HashMap<>(rollup.properties());
+            properties.put("count", rollup.count());
+            if (analytics != null) {
+                send(rollup.event(), anonymousId, properties, Map.of(
+                        "hostName", hostName,
+                        "source", rollup.source(),
+                        "path", rollup.path()));
+            }
+            Log.logf(level, "%s sending analytics rollup \"%s\" (source: %s, path: %s): %s", prefix, rollup.event(),
+                    rollup.source(), rollup.path(), properties);
+        }
+    }
+
+    private void send(String event, String anonymousId, Map<String, Object> properties, Map<String, Object> context) {
+        if (spool != null) {
+            try {
+                spool.append(objectMapper.writeValueAsBytes(new SpooledEvent(UUID.randomUUID().toString(), event,
+                        anonymousId, System.currentTimeMillis(), properties, context)));
+                return;
+            } catch (IOException e) {
+                Log.warnf(e, "Could not spool analytics event \"%s\", sending it directly", event);
+            }
+        }
+        analytics.enqueue(TrackMessage.builder(event)
+                .anonymousId(anonymousId)
+                .properties(properties)
+                .context(context));
+    }
+
+    /**
+     * Send the spooled events to Segment by batches, a batch is only removed from the spool once Segment accepted all
+     * its events (they keep their message id when sent again so Segment can deduplicate them)
+     */
+    @Scheduled(every = "{io.quarkus.code.segment.spool-drain-every}",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void drainSpool() {
+        if (spool == null) {
+            return;
+        }
+        long dropped = spool.dropped();
+        if (dropped != reportedDroppedSpool) {
+            Log.warnf("Analytics spool is full, %d event(s) dropped since startup", dropped);
+            reportedDroppedSpool = dropped;
+        }
+        try {
+            AnalyticsSpool.Batch batch;
+            while ((batch = spool.poll(segmentConfig.flushQueueSize().orElse(DEFAULT_FLUSH_QUEUE_SIZE))) != null) {
+                if (!send(batch)) {
+                    // Retried on the next run
+                    return;
+                }
+                spool.acknowledge(batch);
+            }
+        } catch (IOException e) {
+            Log.warn("Could not read the analytics spool", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean send(AnalyticsSpool.Batch batch) throws InterruptedException {
+        SendingBatch sending = new SendingBatch();
+        List<TrackMessage.Builder> messages = new ArrayList<>(batch.records().size());
+        for (byte[] record : batch.records()) {
+            SpooledEvent event;
+            try {
+                event = objectMapper.readValue(record, SpooledEvent.class);
+            } catch (IOException e) {
+                Log.warn("Skipping an unreadable analytics event from the spool", e);
+                continue;
+            }
+            sending.pending.add(event.messageId());
+            messages.add(TrackMessage.builder(event.event())
+                    .messageId(event.messageId())
+                    .timestamp(new Date(event.timestamp()))
+                    .anonymousId(event.anonymousId())
+                    .properties(event.properties())
+                    .context(event.context()));
+        }
+        sending.latch = new CountDownLatch(sending.pending.size());
+        sendingBatch = sending;
+        try {
+            messages.forEach(analytics::enqueue);
+            analytics.flush();
+            return sending.latch.await(segmentConfig.spoolSendTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                    && !sending.failed;
+        } finally {
+            sendingBatch = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flushRollups();
+        if (spool != null) {
+            // The spooled events are sent after the restart
+            spool.close();
+        }
+        if (analytics != null) {
+            analytics.flush();
+        }
+    }
+
     private String fixUserAgent(String userAgent) {
         if (userAgent == null || userAgent.isBlank() || !USER_AGENT_PATTERN.matcher(userAgent).matches()) {
             return defaultUserAgent;
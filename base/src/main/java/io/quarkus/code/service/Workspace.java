@@ -0,0 +1,45 @@
+package io.quarkus.code.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * A per-request scratch directory, it is deleted when closed.
+ */
+public final class Workspace implements AutoCloseable {
+
+    private final WorkspaceService workspaceService;
+    private final Path dir;
+
+    Workspace(WorkspaceService workspaceService, Path dir) {
+        this.workspaceService = workspaceService;
+        this.dir = dir;
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    /**
+     * Hand the directory over to the caller, it is not in use anymore and will be reclaimed by the sweeper once expired
+     */
+    public void detach() {
+        if (workspaceService != null) {
+            workspaceService.detach(this);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (workspaceService != null) {
+            workspaceService.release(this);
+            return;
+        }
+        try {
+            WorkspaceService.delete(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.GenerationConfig;
+import io.quarkus.code.config.WorkspaceConfig;
+import io.quarkus.logging.Log;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Manages the scratch directories used to generate projects.
+ * <p>
+ * Workspaces are deleted when closed, the ones which are detached (or leaked by a previous run) are reclaimed by a
+ * background sweeper once they are too old or when the disk budget is exceeded. The workspaces in use are never
+ * reclaimed.
+ */
+@Singleton
+public class WorkspaceService {
+
+    private static final String ROOT_DIR_NAME = "code-quarkus-workspaces";
+    private static final String WORKSPACE_PREFIX = "generated-";
+
+    @Inject
+    WorkspaceConfig config;
+
+    @Inject
+    GenerationConfig generationConfig;
+
+    @Inject
+    CodeQuarkusMetrics metrics;
+
+    private final Set<Path> active = ConcurrentHashMap.newKeySet();
+    private final AtomicLong reclaimedBytes = new AtomicLong();
+    private final AtomicLong reclaimedDirectories = new AtomicLong();
+    private final AtomicLong usedBytes = new AtomicLong();
+    private Path root;
+
+    @PostConstruct
+    void init() throws IOException {
+        Path base = Path.of(System.getProperty("java.io.tmpdir"));
+        if (generationConfig.inMemory()) {
+            Path dir = generationConfig.inMemoryDir();
+            if (Files.isDirectory(dir) && Files.isWritable(dir)) {
+                base = dir;
+                Log.infof("Projects will be generated in memory (%s)", dir);
+            } else {
+                Log.warnf("In-memory generation directory %s is not available, projects will be generated on disk", dir);
+            }
+        }
+        init(base);
+    }
+
+    void init(Path base) throws IOException {
+        root = Files.createDirectories(base.resolve(ROOT_DIR_NAME));
+        if (metrics != null) {
+            metrics.bindWorkspaces(this);
+        }
+    }
+
+    public Workspace create() throws IOException {
+        // Reserved before being created, the sweeper must never find it unused
+        Path dir = root.resolve(WORKSPACE_PREFIX + UUID.randomUUID());
+        active.add(dir);
+        try {
+            Files.createDirectory(dir);
+        } catch (IOException | RuntimeException e) {
+            active.remove(dir);
+            throw e;
+        }
+        return new Workspace(this, dir);
+    }
+
+    /**
+     * Create a workspace which is not managed by a service (it is still deleted when closed)
+     */
+    public static Workspace unmanaged() throws IOException {
+        return new Workspace(null, Files.createTempDirectory(WORKSPACE_PREFIX));
+    }
+
+    void detach(Workspace workspace) {
+        active.remove(workspace.dir());
+    }
+
+    void release(Workspace workspace) {
+        active.remove(workspace.dir());
+        try {
+            delete(workspace.dir());
+        } catch (IOException | UncheckedIOException e) {
+            Log.warnf(e, "Could not delete workspace %s, it will be reclaimed by the sweeper", workspace.dir());
+        }
+    }
+
+    @Scheduled(every = "{io.quarkus.code.workspace.sweep-every}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void sweep() {
+        List<Path> paths;
+        try (Stream<Path> list = Files.list(root)) {
+            paths = list.toList();
+        } catch (IOException | UncheckedIOException e) {
+            Log.warnf(e, "Could not list workspaces in %s", root);
+            return;
+        }
+        List<WorkspaceDir> dirs = new ArrayList<>(paths.size());
+        for (Path dir : paths) {
+            try {
+                dirs.add(new WorkspaceDir(dir, Files.getLastModifiedTime(dir).toInstant(), size(dir)));
+            } catch (IOException | UncheckedIOException e) {
+                if (Files.exists(dir)) {
+                    Log.warnf(e, "Could not inspect workspace %s, it is skipped", dir);
+                } else {
+                    // Released while it was inspected
+                    Log.debugf("Workspace %s has been deleted during the sweep", dir);
+                }
+            }
+        }
+        dirs.sort(Comparator.comparing(WorkspaceDir::lastModified));
+        long total = dirs.stream().mapToLong(WorkspaceDir::size).sum();
+        long budget = config.diskBudget().asLongValue();
+        Instant expiration = Instant.now().minus(config.maxAge());
+        long bytes = 0;
+        int count = 0;
+        for (WorkspaceDir dir : dirs) {
+            if (active.contains(dir.path())) {
+                continue;
+            }
+            boolean expired = dir.lastModified().isBefore(expiration);
+            boolean overBudget = total > budget;
+            if (!expired && !overBudget) {
+                continue;
+            }
+            try {
+                delete(dir.path());
+                total -= dir.size();
+                bytes += dir.size();
+                count++;
+            } catch (IOException | UncheckedIOException e) {
+                Log.warnf(e, "Could not reclaim workspace %s", dir.path());
+            }
+        }
+        usedBytes.set(total);
+        if (count > 0) {
+            reclaimedBytes.addAndGet(bytes);
+            reclaimedDirectories.addAndGet(count);
+            Log.infof("Reclaimed %d workspace(s) (%d bytes), %d bytes still in use", count, bytes, total);
+        }
+    }
+
+    public long reclaimedBytes() {
+        return reclaimedBytes.get();
+    }
+
+    public long reclaimedDirectories() {
+        return reclaimedDirectories.get();
+    }
+
+    public long usedBytes() {
+        return usedBytes.get();
+    }
+
+    public int activeWorkspaces() {
+        return active.size();
+    }
+
+    static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static long size(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            return paths.filter(Files::isRegularFile).mapToLong(path -> {
+                try {
+                    return Files.size(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).sum();
+        }
+    }
+
+    private record WorkspaceDir(Path path, Instant lastModified, long size) {
+    }
+}
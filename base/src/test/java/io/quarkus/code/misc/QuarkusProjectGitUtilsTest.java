@@ -0,0 +1,110 @@
+package io.quarkus.code.misc;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.internal.storage.dfs.DfsRepositoryDescription;
+import org.eclipse.jgit.internal.storage.dfs.InMemoryRepository;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.FileMode;
+import org.eclipse.jgit.lib.ObjectChecker;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.eclipse.jgit.treewalk.TreeWalk;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuarkusProjectGitUtilsTest {
+
+    @Test
+    void shouldPushGeneratedProject(@TempDir Path dir) throws IOException, URISyntaxException, GitAPIException {
+        Path project = Files.createDirectories(dir.resolve("code-with-quarkus"));
+        Files.writeString(project.resolve("pom.xml"), "<project/>");
+        Files.writeString(project.resolve("mvnw"), "#!/bin/sh");
+        project.resolve("mvnw").toFile().setExecutable(true);
+        Files.createDirectories(project.resolve("src/main/java-empty"));
+        Files.createDirectories(project.resolve("src/main/java"));
+        Files.writeString(project.resolve("src/main/java/App.java"), "class App {}");
+        Files.writeString(project.resolve("src/main.txt"), "sorted before src/main/");
+        Path remote = dir.resolve("remote.git");
+        Git.init().setBare(true).setDirectory(remote.toFile()).call().close();
+
+        QuarkusProjectGitUtils.push(project, "main", remote.toUri().toString(),
+                new UsernamePasswordCredentialsProvider("user", "token"));
+
+        try (Repository repository = Git.open(remote.toFile()).getRepository();
+                RevWalk walk = new RevWalk(repository)) {
+            RevCommit commit = walk.parseCommit(repository.resolve("refs/heads/main"));
+            assertThat(commit.getFullMessage()).isEqualTo("Initial commit");
+            assertThat(commit.getAuthorIdent().getEmailAddress()).isEqualTo("no-reply@quarkus.io");
+            Map<String, FileMode> modes = new HashMap<>();
+            Map<String, ObjectId> blobs = new HashMap<>();
+            try (TreeWalk treeWalk = new TreeWalk(repository)) {
+                treeWalk.addTree(commit.getTree());
+                treeWalk.setRecursive(true);
+                while (treeWalk.next()) {
+                    modes.put(treeWalk.getPathString(), treeWalk.getFileMode(0));
+                    blobs.put(treeWalk.getPathString(), treeWalk.getObjectId(0));
+                }
+            }
+            assertThat(modes).containsOnlyKeys("pom.xml", "mvnw", "src/main/java/App.java", "src/main.txt");
+            assertThat(modes.get("mvnw")).isEqualTo(FileMode.EXECUTABLE_FILE);
+            assertThat(modes.get("pom.xml")).isEqualTo(FileMode.REGULAR_FILE);
+            assertThat(new String(repository.open(blobs.get("src/main/java/App.java")).getBytes(),
+                    StandardCharsets.UTF_8)).isEqualTo("class App {}");
+        }
+    }
+
+    @Test
+    void shouldSortTheEntriesByTheirUtf8Bytes(@TempDir Path dir) throws IOException {
+        // Sorted the other way around as UTF-16 strings
+        try {
+            Files.writeString(dir.resolve("\uFF21.txt"), "fullwidth");
+            Files.writeString(dir.resolve("\uD83D\uDE00.txt"), "emoji");
+        } catch (InvalidPathException e) {
+            Assumptions.abort("The file names are not encoded in UTF-8");
+        }
+        Files.writeString(dir.resolve("a.txt"), "ascii");
+
+        try (Repository repository = inMemoryRepository();
+                RevWalk walk = new RevWalk(repository)) {
+            RevCommit commit = walk.parseCommit(QuarkusProjectGitUtils.commit(repository, dir));
+            byte[] tree = repository.open(commit.getTree()).getBytes();
+
+            // Fails on entries which are not sorted the git way
+            new ObjectChecker().checkTree(tree);
+        }
+    }
+
+    @Test
+    void shouldCommitAnEmptyProject(@TempDir Path dir) throws IOException {
+        Files.createDirectories(dir.resolve("src/main/java"));
+
+        try (Repository repository = inMemoryRepository();
+                RevWalk walk = new RevWalk(repository)) {
+            RevCommit commit = walk.parseCommit(QuarkusProjectGitUtils.commit(repository, dir));
+
+            assertThat(commit.getTree().getId()).isEqualTo(Constants.EMPTY_TREE_ID);
+        }
+    }
+
+    private static Repository inMemoryRepository() throws IOException {
+        return new InMemoryRepository.Builder()
+                .setRepositoryDescription(new DfsRepositoryDescription("test"))
+                .build();
+    }
+}
@@ -5,6 +5,8 @@ import io.quarkus.code.model.ProjectDefinition;
 import io.quarkus.code.service.PlatformService;
 import io.quarkus.test.junit.QuarkusTest;
 import io.restassured.RestAssured;
+import io.restassured.config.DecoderConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import org.hamcrest.CoreMatchers;
 import org.hamcrest.MatcherAssert;
@@ -406,6 +408,73 @@ class CodeQuarkusResourceTest {
                 .body("$.size()", greaterThan(50));
     }
 
+    @Test
+    @DisplayName("Should return 304 when the extension list has not changed")
+    void testExtensionsNotModified() {
+        String etag = given()
+                .when().get("/api/extensions")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(200)
+                .header("Cache-Control", CoreMatchers.containsString("public"))
+                .header("ETag", notNullValue())
+                .extract().header("ETag");
+        given()
+                .header("If-None-Match", etag)
+                .when().get("/api/extensions")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(304)
+                .header("ETag", equalTo(etag));
+        given()
+                .header("If-None-Match", etag)
+                .when().get("/api/extensions?platformOnly=false")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(200);
+    }
+
+    @Test
+    @DisplayName("Should return the pre-compressed extension list")
+    void testExtensionsGzip() {
+        given()
+                .header("Accept-Encoding", "gzip")
+                .when().get("/api/extensions")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(200)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Content-Encoding", "gzip")
+                .header("Vary", CoreMatchers.containsString("Accept-Encoding"))
+                .body("$.size()", greaterThan(50));
+    }
+
+    @Test
+    @DisplayName("Should not compress the identity extension list on the fly")
+    void testExtensionsDeflate() {
+        RestAssuredConfig noDecoders = RestAssured.config()
+                .decoderConfig(DecoderConfig.decoderConfig().noContentDecoders());
+        String identityEtag = given()
+                .config(noDecoders)
+                .header("Accept-Encoding", "identity")
+                .when().get("/api/extensions")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(200)
+                .extract().header("ETag");
+        given()
+                .config(noDecoders)
+                .header("Accept-Encoding", "deflate")
+                .when().get("/api/extensions")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(200)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Content-Encoding", nullValue())
+                .header("ETag", equalTo(identityEtag))
+                .body("$.size()", greaterThan(50));
+    }
+
     @Test
     @DisplayName("Should return the requested extension")
     void testExtensionById() {
@@ -49,6 +49,34 @@ class GitHubResourceTest {
                 .statusCode(409);
     }
 
+    @Test
+    void shouldReturnHttpBadRequest400WhenTheGenerationFails() {
+        RestAssured.given()
+                .header("GitHub-Code", "gh-code")
+                .header("GitHub-State", "someRandomState")
+                .contentType(ContentType.JSON)
+                .body("{\"artifactId\":\"" + QuarkusProjectServiceMock.FAILING_ARTIFACT_ID + "\"}")
+                .when().post("/api/github/project")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(400)
+                .body(Matchers.equalTo("Quarkus Command error > Failing generation"));
+    }
+
+    @Test
+    void shouldReturnHttpServerError500WithTheMessageWhenTheGenerationFailsWithAnIOException() {
+        RestAssured.given()
+                .header("GitHub-Code", "gh-code")
+                .header("GitHub-State", "someRandomState")
+                .contentType(ContentType.JSON)
+                .body("{\"artifactId\":\"" + QuarkusProjectServiceMock.FAILING_IO_ARTIFACT_ID + "\"}")
+                .when().post("/api/github/project")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(500)
+                .body(Matchers.equalTo("IO error > Failing IO"));
+    }
+
     @Test
     void shouldFailIfGitHubCodeHeaderIsEmpty() {
         RestAssured.given()
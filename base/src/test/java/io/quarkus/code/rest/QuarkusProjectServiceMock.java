@@ -1,12 +1,15 @@
 package io.quarkus.code.rest;
 
+import io.quarkus.code.service.CodeQuarkusMetrics;
 import io.quarkus.code.service.QuarkusProjectService;
 import io.quarkus.code.model.ProjectDefinition;
 import io.quarkus.code.service.PlatformInfo;
+import io.quarkus.code.service.Workspace;
 import io.quarkus.devtools.commands.data.QuarkusCommandException;
 import io.quarkus.test.Mock;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicReference;
 
 import jakarta.inject.Singleton;
@@ -15,13 +18,36 @@ import jakarta.inject.Singleton;
 @Singleton
 public class QuarkusProjectServiceMock extends QuarkusProjectService {
 
+    /**
+     * The generation of a project with this artifact id fails with a {@link QuarkusCommandException}
+     */
+    public static final String FAILING_ARTIFACT_ID = "failing-generation";
+
+    /**
+     * The generation of a project with this artifact id fails with an {@link IOException}
+     */
+    public static final String FAILING_IO_ARTIFACT_ID = "failing-io";
+
     private AtomicReference<ProjectDefinition> createdProjectRef = new AtomicReference<>();
 
     @Override
-    public byte[] create(PlatformInfo platformInfo, ProjectDefinition projectDefinition)
+    public ProjectArchive createArchive(PlatformInfo platformInfo, ProjectDefinition projectDefinition)
             throws IOException, QuarkusCommandException {
         createdProjectRef.set(projectDefinition);
-        return super.create(platformInfo, projectDefinition);
+        return super.createArchive(platformInfo, projectDefinition);
+    }
+
+    @Override
+    public Path create(Workspace workspace, CodeQuarkusMetrics.Origin origin, PlatformInfo platformInfo,
+            ProjectDefinition projectDefinition, boolean isGitHub, boolean silent)
+            throws IOException, QuarkusCommandException {
+        if (FAILING_ARTIFACT_ID.equals(projectDefinition.artifactId())) {
+            throw new QuarkusCommandException("Failing generation");
+        }
+        if (FAILING_IO_ARTIFACT_ID.equals(projectDefinition.artifactId())) {
+            throw new IOException("Failing IO");
+        }
+        return super.create(workspace, origin, platformInfo, projectDefinition, isGitHub, silent);
     }
 
     public ProjectDefinition getCreatedProject() {
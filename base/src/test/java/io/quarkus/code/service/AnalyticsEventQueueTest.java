@@ -0,0 +1,49 @@
+package io.quarkus.code.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsEventQueueTest {
+
+    @Test
+    void shouldDropEventsWhenFull() {
+        AnalyticsEventQueue queue = new AnalyticsEventQueue(2);
+
+        assertThat(queue.offer(event("/a"))).isTrue();
+        assertThat(queue.offer(event("/b"))).isTrue();
+        assertThat(queue.offer(event("/c"))).isFalse();
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.dropped()).isEqualTo(1);
+
+        List<String> paths = new ArrayList<>();
+        assertThat(queue.drain(e -> paths.add(e.path()), 1)).isEqualTo(1);
+        assertThat(queue.offer(event("/d"))).isTrue();
+        assertThat(queue.drain(e -> paths.add(e.path()), 10)).isEqualTo(2);
+        assertThat(paths).containsExactly("/a", "/b", "/d");
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void shouldWaitForTheFirstEvent() throws InterruptedException {
+        AnalyticsEventQueue queue = new AnalyticsEventQueue(2);
+        List<String> paths = new ArrayList<>();
+
+        assertThat(queue.drain(e -> paths.add(e.path()), 10, 10, TimeUnit.MILLISECONDS)).isZero();
+        Thread producer = Thread.ofPlatform().start(() -> queue.offer(event("/a")));
+        assertThat(queue.drain(e -> paths.add(e.path()), 10, 10, TimeUnit.SECONDS)).isEqualTo(1);
+        producer.join();
+
+        assertThat(paths).containsExactly("/a");
+    }
+
+    private static AnalyticsEvent event(String path) {
+        return new AnalyticsEvent(null, "GET", "unknown", path, "http://localhost" + path, null, null, null, Map.of(),
+                null);
+    }
+}
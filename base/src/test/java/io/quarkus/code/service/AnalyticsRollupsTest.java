@@ -0,0 +1,66 @@
+package io.quarkus.code.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsRollupsTest {
+
+    @Test
+    void shouldCountEventsByProperties() {
+        AnalyticsRollups rollups = new AnalyticsRollups(10);
+        Map<String, Object> download = new HashMap<>();
+        download.put("buildTool", "MAVEN");
+        download.put("javaVersion", null);
+        download.put("extensions", Set.of("io.quarkus:quarkus-rest"));
+
+        rollups.add("Extension Used", "web", "/download", Map.of("extension", "io.quarkus:quarkus-rest"));
+        rollups.add("Extension Used", "web", "/download", Map.of("extension", "io.quarkus:quarkus-rest"));
+        rollups.add("Extension Used", "cli", "/download", Map.of("extension", "io.quarkus:quarkus-rest"));
+        rollups.add("App Download", "web", "/download", download);
+
+        assertThat(rollups.drain()).containsExactlyInAnyOrder(
+                new AnalyticsRollups.Rollup("Extension Used", "web", "/download",
+                        Map.of("extension", "io.quarkus:quarkus-rest"), 2),
+                new AnalyticsRollups.Rollup("Extension Used", "cli", "/download",
+                        Map.of("extension", "io.quarkus:quarkus-rest"), 1),
+                new AnalyticsRollups.Rollup("App Download", "web", "/download", Map.of("buildTool", "MAVEN"), 1));
+        assertThat(rollups.drain()).isEmpty();
+    }
+
+    @Test
+    void shouldNotLoseEventsCountedWhileDraining() throws InterruptedException {
+        AnalyticsRollups rollups = new AnalyticsRollups(10);
+        int events = 100_000;
+        // A single writer, as the analytics consumer thread
+        Thread adder = Thread.ofPlatform().start(() -> {
+            for (int i = 0; i < events; i++) {
+                rollups.add("Api Call", "web", i % 2 == 0 ? "/extensions" : "/streams", Map.of());
+            }
+        });
+        long total = 0;
+        while (adder.isAlive()) {
+            total += rollups.drain().stream().mapToLong(AnalyticsRollups.Rollup::count).sum();
+        }
+        adder.join();
+        total += rollups.drain().stream().mapToLong(AnalyticsRollups.Rollup::count).sum();
+
+        assertThat(total).isEqualTo(events);
+    }
+
+    @Test
+    void shouldDropEventsBeyondMaxKeys() {
+        AnalyticsRollups rollups = new AnalyticsRollups(1);
+
+        assertThat(rollups.add("Api Call", "web", "/a", Map.of())).isTrue();
+        assertThat(rollups.add("Api Call", "web", "/b", Map.of())).isFalse();
+        assertThat(rollups.add("Api Call", "web", "/a", Map.of())).isTrue();
+
+        assertThat(rollups.dropped()).isEqualTo(1);
+        assertThat(rollups.drain()).containsExactly(new AnalyticsRollups.Rollup("Api Call", "web", "/a", Map.of(), 2));
+    }
+}
@@ -0,0 +1,72 @@
+package io.quarkus.code.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsSpoolTest {
+
+    @Test
+    void shouldKeepUnacknowledgedRecordsAcrossRestarts(@TempDir Path dir) throws IOException {
+        AnalyticsSpool spool = new AnalyticsSpool(dir, 64, 1024);
+        spool.append(bytes("a"));
+        spool.append(bytes("b"));
+        spool.append(bytes("c"));
+
+        AnalyticsSpool.Batch batch = spool.poll(2);
+        assertThat(strings(batch)).containsExactly("a", "b");
+        spool.acknowledge(batch);
+        spool.close();
+
+        AnalyticsSpool reopened = new AnalyticsSpool(dir, 64, 1024);
+        reopened.append(bytes("d"));
+        assertThat(strings(reopened.poll(10))).containsExactly("c", "d");
+        // Not acknowledged
+        assertThat(strings(reopened.poll(10))).containsExactly("c", "d");
+    }
+
+    @Test
+    void shouldRollAndEvictSegments(@TempDir Path dir) throws IOException {
+        // Header (8) + 2 records of 4 + 8 bytes
+        AnalyticsSpool spool = new AnalyticsSpool(dir, 32, 64);
+        for (int i = 0; i < 8; i++) {
+            assertThat(spool.append(bytes("event" + i + "__"))).isTrue();
+        }
+        assertThat(spool.append(new byte[64])).isFalse();
+
+        assertThat(spool.dropped()).isEqualTo(5);
+        assertThat(dir.toFile().list()).hasSize(2);
+        AnalyticsSpool.Batch batch = spool.poll(10);
+        assertThat(strings(batch)).containsExactly("event4__", "event5__");
+        spool.acknowledge(batch);
+        assertThat(dir.toFile().list()).hasSize(1);
+        assertThat(strings(spool.poll(10))).containsExactly("event6__", "event7__");
+    }
+
+    @Test
+    void shouldIgnoreFilesWhichAreNotSegments(@TempDir Path dir) throws IOException {
+        AnalyticsSpool spool = new AnalyticsSpool(dir, 64, 1024);
+        spool.append(bytes("a"));
+        spool.close();
+        Path backup = Files.write(dir.resolve("spool-backup.log"), new byte[64]);
+
+        AnalyticsSpool reopened = new AnalyticsSpool(dir, 64, 1024);
+        assertThat(strings(reopened.poll(10))).containsExactly("a");
+        assertThat(backup).exists();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(AnalyticsSpool.Batch batch) {
+        return batch.records().stream().map(record -> new String(record, StandardCharsets.UTF_8)).toList();
+    }
+}
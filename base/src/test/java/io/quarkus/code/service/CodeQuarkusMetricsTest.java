@@ -0,0 +1,120 @@
+package io.quarkus.code.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.quarkus.code.model.CodeQuarkusExtension;
+import io.quarkus.code.model.Stream;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CodeQuarkusMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CodeQuarkusMetrics metrics = new CodeQuarkusMetrics(registry);
+
+    @Test
+    void shouldMeasureTheArchiveWrite() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        metrics.measured(o -> o.write(new byte[42])).writeTo(out);
+
+        assertThat(out.size()).isEqualTo(42);
+        assertThat(registry.get("code.quarkus.generation.archive.size").summary().totalAmount()).isEqualTo(42);
+        assertThat(registry.get("code.quarkus.generation.phase").tag("phase", "write").tag("origin", "download").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotCountTheSizeOfAFailedWrite() {
+        assertThatThrownBy(() -> metrics.measured(o -> {
+            throw new IOException("Broken pipe");
+        }).writeTo(new ByteArrayOutputStream())).isInstanceOf(IOException.class);
+
+        assertThat(registry.get("code.quarkus.generation.archive.size").summary().count()).isZero();
+        assertThat(registry.get("code.quarkus.generation.phase").tag("phase", "write").tag("origin", "download").timer()
+                .count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountTheInFlightGenerationsByOrigin() {
+        metrics.generationStarted(CodeQuarkusMetrics.Origin.DOWNLOAD);
+        metrics.generationStarted(CodeQuarkusMetrics.Origin.DOWNLOAD);
+        metrics.generationStarted(CodeQuarkusMetrics.Origin.WARMUP);
+        metrics.generationEnded(CodeQuarkusMetrics.Origin.DOWNLOAD);
+
+        assertThat(registry.get("code.quarkus.generation.in.flight").tag("origin", "download").gauge().value())
+                .isEqualTo(1);
+        assertThat(registry.get("code.quarkus.generation.in.flight").tag("origin", "warmup").gauge().value())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagThePhasesByOrigin() {
+        metrics.record(CodeQuarkusMetrics.Origin.WARMUP, CodeQuarkusMetrics.Phase.CREATE, System.nanoTime());
+
+        assertThat(registry.get("code.quarkus.generation.phase").tag("phase", "create").tag("origin", "warmup").timer()
+                .count()).isEqualTo(1);
+        assertThat(registry.get("code.quarkus.generation.phase").tag("phase", "create").tag("origin", "download").timer()
+                .count()).isZero();
+    }
+
+    @Test
+    void shouldOnlyReportTheLoadedStreams() {
+        metrics.platformInfosLoaded(Map.of("io.quarkus.platform:3.0", platformInfo("io.quarkus.platform:3.0", 2),
+                "io.quarkus.platform:3.1", platformInfo("io.quarkus.platform:3.1", 3)));
+        metrics.platformInfosLoaded(Map.of("io.quarkus.platform:3.1", platformInfo("io.quarkus.platform:3.1", 4)));
+
+        assertThat(registry.find("code.quarkus.platform.extensions").gauges()).hasSize(1);
+        assertThat(registry.get("code.quarkus.platform.extensions").tag("stream", "io.quarkus.platform:3.1").gauge()
+                .value()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldTagTheReloadsByOutcome() {
+        metrics.recordReload(CodeQuarkusMetrics.ReloadOutcome.UPDATED, System.nanoTime());
+        metrics.recordReload(CodeQuarkusMetrics.ReloadOutcome.FAILED, System.nanoTime());
+        metrics.recordReload(CodeQuarkusMetrics.ReloadOutcome.FAILED, System.nanoTime());
+
+        assertThat(registry.get("code.quarkus.platform.reload").tag("outcome", "updated").timer().count()).isEqualTo(1);
+        assertThat(registry.get("code.quarkus.platform.reload").tag("outcome", "failed").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReportTheReclaimedWorkspaces() {
+        WorkspaceService workspaces = new WorkspaceService() {
+            @Override
+            public long reclaimedBytes() {
+                return 2048;
+            }
+
+            @Override
+            public long reclaimedDirectories() {
+                return 2;
+            }
+        };
+        metrics.bindWorkspaces(workspaces);
+
+        assertThat(registry.get("code.quarkus.workspace.reclaimed").functionCounter().count()).isEqualTo(2048);
+        assertThat(registry.get("code.quarkus.workspace.reclaimed.directories").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("code.quarkus.workspace.active").gauge().value()).isZero();
+    }
+
+    private static PlatformInfo platformInfo(String streamKey, int extensionCount) {
+        List<CodeQuarkusExtension> extensions = new ArrayList<>();
+        for (int i = 0; i < extensionCount; i++) {
+            extensions.add(CodeQuarkusExtension.builder()
+                    .id("io.quarkus:quarkus-ext-" + i)
+                    .version("1.0.0")
+                    .platform(true)
+                    .build());
+        }
+        return new PlatformInfo("io.quarkus.platform", Stream.builder().key(streamKey).build(), "3.0.0", "3.0.0",
+                true, extensions, null);
+    }
+}
@@ -0,0 +1,105 @@
+package io.quarkus.code.service;
+
+import jakarta.ws.rs.ServiceUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    @Timeout(10)
+    void shouldLetTheCallsInInArrivalOrder() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, Duration.ofSeconds(10));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Thread first = Thread.ofPlatform().start(() -> call(limiter, () -> {
+            started.countDown();
+            release.await();
+            order.add("first");
+        }));
+        started.await();
+        Thread second = waiting(Thread.ofPlatform().start(() -> call(limiter, () -> order.add("second"))));
+        Thread third = waiting(Thread.ofPlatform().start(() -> call(limiter, () -> order.add("third"))));
+
+        release.countDown();
+        first.join();
+        second.join();
+        third.join();
+
+        assertThat(order).containsExactly("first", "second", "third");
+    }
+
+    @Test
+    void shouldRejectWithARetryAfterWhenNoPermitIsAvailable() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, Duration.ofMillis(50));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofPlatform().start(() -> call(limiter, () -> {
+            started.countDown();
+            release.await();
+        }));
+        started.await();
+        try {
+            assertThatThrownBy(() -> limiter.call(() -> "rejected"))
+                    .isInstanceOfSatisfying(ServiceUnavailableException.class,
+                            e -> assertThat(e.getResponse().getHeaderString("Retry-After")).isEqualTo("5"));
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+    }
+
+    @Test
+    void shouldReleaseThePermitWhenTheCallFails() throws Exception {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new IOException("Failing generation");
+        })).isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new IllegalArgumentException("Invalid project");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(limiter.call(() -> "generated")).isEqualTo("generated");
+    }
+
+    private static void call(ConcurrencyLimiter limiter, Task task) {
+        try {
+            limiter.call(() -> {
+                try {
+                    task.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the thread once it waits for a permit
+     */
+    private static Thread waiting(Thread thread) throws InterruptedException {
+        while (thread.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(1);
+        }
+        return thread;
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.GitHubConfig;
+import io.quarkus.code.model.GitHubCreatedRepository;
+import jakarta.ws.rs.InternalServerErrorException;
+import jakarta.ws.rs.NotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GitHubServiceTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final FakeGitHubClient client = new FakeGitHubClient();
+    private GitHubService gitHubService;
+
+    @BeforeEach
+    void setUp() {
+        gitHubService = new GitHubService();
+        gitHubService.ghClient = client;
+        gitHubService.config = new GitHubConfig() {
+            @Override
+            public Optional<String> clientId() {
+                return Optional.of("client-id");
+            }
+
+            @Override
+            public Optional<String> clientSecret() {
+                return Optional.of("client-secret");
+            }
+        };
+        gitHubService.checkCreatedInitialBackoff = Duration.ofMillis(1);
+        gitHubService.checkCreatedMaxBackoff = Duration.ofMillis(5);
+    }
+
+    @Test
+    void shouldRetryUntilTheRepositoryIsCreated() {
+        client.availableAfter = 3;
+
+        GitHubCreatedRepository repository = gitHubService.createRepositoryAndWait("login", "token", "my-app")
+                .await().atMost(TIMEOUT);
+
+        assertThat(repository.url()).isEqualTo("https://github.com/login/my-app.git");
+        assertThat(client.checks).hasValue(3);
+    }
+
+    @Test
+    void shouldGiveUpWhenTheRepositoryIsNeverCreated() {
+        client.availableAfter = Integer.MAX_VALUE;
+
+        assertThatThrownBy(() -> gitHubService.createRepositoryAndWait("login", "token", "my-app")
+                .await().atMost(TIMEOUT))
+                .isInstanceOf(InternalServerErrorException.class);
+        // The first check and the retries
+        assertThat(client.checks).hasValue(11);
+    }
+
+    private static final class FakeGitHubClient implements GitHubClient {
+
+        private final AtomicInteger checks = new AtomicInteger();
+        private volatile int availableAfter;
+
+        @Override
+        public GHMe getMe(String authorization) {
+            GHMe me = new GHMe();
+            me.setLogin("login");
+            return me;
+        }
+
+        @Override
+        public GHRepo getRepo(String authorization, String ownerName, String repoName) {
+            if (checks.incrementAndGet() < availableAfter) {
+                throw new NotFoundException();
+            }
+            return repo(repoName);
+        }
+
+        @Override
+        public GHRepo createRepo(String authorization, GHCreateRepo repo) {
+            return repo("my-app");
+        }
+
+        private static GHRepo repo(String name) {
+            GHRepo repo = new GHRepo();
+            repo.setName(name);
+            repo.setCloneUrl("https://github.com/login/" + name + ".git");
+            repo.setDefaultBranch("main");
+            return repo;
+        }
+    }
+}
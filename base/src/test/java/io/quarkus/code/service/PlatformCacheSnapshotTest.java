@@ -0,0 +1,49 @@
+package io.quarkus.code.service;
+
+import io.quarkus.registry.catalog.ExtensionCatalog;
+import io.quarkus.registry.catalog.PlatformCatalog;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlatformCacheSnapshotTest {
+
+    @Test
+    void shouldRoundTrip(@TempDir Path dir) throws IOException {
+        ExtensionCatalog extensionCatalog = ExtensionCatalog.fromStream(
+                PlatformCacheSnapshotTest.class.getResourceAsStream("/fakeextensions.json"));
+        PlatformCatalog platformCatalog = PlatformCatalog.builder()
+                .setMetadata(Map.of("last-updated", "1"))
+                .build();
+        Path file = dir.resolve("snapshot.zip");
+
+        new PlatformCacheSnapshot(platformCatalog, Map.of("io.quarkus.platform:5.5", extensionCatalog)).write(file);
+        PlatformCacheSnapshot snapshot = PlatformCacheSnapshot.read(file);
+
+        assertThat(snapshot.platformCatalog().getMetadata()).containsEntry("last-updated", "1");
+        assertThat(snapshot.extensionCatalogs()).containsOnlyKeys("io.quarkus.platform:5.5");
+        ExtensionCatalog read = snapshot.extensionCatalogs().get("io.quarkus.platform:5.5");
+        assertThat(read.getId()).isEqualTo(extensionCatalog.getId());
+        assertThat(read.getExtensions()).hasSameSizeAs(extensionCatalog.getExtensions());
+        assertThat(dir.toFile().list()).containsExactly("snapshot.zip");
+    }
+
+    @Test
+    void shouldReadDirectory(@TempDir Path dir) throws IOException {
+        Files.writeString(dir.resolve("platform-catalog.json"), "{\"metadata\": {\"last-updated\": \"1\"}}");
+        Path extensionCatalogs = Files.createDirectory(dir.resolve("extension-catalogs"));
+        Files.copy(PlatformCacheSnapshotTest.class.getResourceAsStream("/fakeextensions.json"),
+                extensionCatalogs.resolve("io.quarkus.platform:5.5.json"));
+
+        PlatformCacheSnapshot snapshot = PlatformCacheSnapshot.read(dir);
+
+        assertThat(snapshot.platformCatalog().getMetadata()).containsEntry("last-updated", "1");
+        assertThat(snapshot.extensionCatalogs()).containsOnlyKeys("io.quarkus.platform:5.5");
+    }
+}
@@ -0,0 +1,51 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.model.CodeQuarkusExtension;
+import io.quarkus.code.model.Stream;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlatformInfoTest {
+
+    private static final PlatformInfo PLATFORM_INFO = new PlatformInfo("io.quarkus.platform",
+            Stream.builder().key("io.quarkus.platform:3.0").build(),
+            "3.0.0", "3.0.0", true,
+            List.of(
+                    extension("io.quarkus:quarkus-rest", true),
+                    extension("io.quarkiverse.rest:quarkus-rest", false),
+                    extension("io.quarkiverse.foo:quarkus-foo", false),
+                    extension("org.acme:quarkus-bar", false),
+                    extension("org.other:quarkus-bar", false)),
+            null);
+
+    @Test
+    void shouldResolveIdsAndShortcuts() {
+        assertThat(PLATFORM_INFO.checkAndMergeExtensions(Set.of("io.quarkus:quarkus-rest")))
+                .containsExactly("io.quarkus:quarkus-rest");
+        assertThat(PLATFORM_INFO.checkAndMergeExtensions(Set.of("io.quarkiverse.rest:quarkus-rest")))
+                .containsExactly("io.quarkiverse.rest:quarkus-rest:1.0.0");
+        assertThat(PLATFORM_INFO.checkAndMergeExtensions(Set.of("rest", "quarkus-foo")))
+                .containsExactlyInAnyOrder("io.quarkus:quarkus-rest", "io.quarkiverse.foo:quarkus-foo:1.0.0");
+    }
+
+    @Test
+    void shouldRejectUnknownAndAmbiguousShortcuts() {
+        assertThatThrownBy(() -> PLATFORM_INFO.checkAndMergeExtensions(Set.of("unknown")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PLATFORM_INFO.checkAndMergeExtensions(Set.of("bar")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static CodeQuarkusExtension extension(String id, boolean platform) {
+        return CodeQuarkusExtension.builder()
+                .id(id)
+                .version("1.0.0")
+                .platform(platform)
+                .build();
+    }
+}
@@ -1,8 +1,25 @@
 package io.quarkus.code.service;
 
+import io.quarkus.code.misc.QuarkusExtensionUtils;
+import io.quarkus.code.model.Stream;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import io.quarkus.registry.catalog.Extension;
+import io.quarkus.registry.catalog.ExtensionCatalog;
+import io.quarkus.registry.catalog.ExtensionOrigin;
+import io.quarkus.registry.catalog.Platform;
+import io.quarkus.registry.catalog.PlatformCatalog;
+import io.quarkus.registry.catalog.PlatformRelease;
+import io.quarkus.registry.catalog.PlatformReleaseVersion;
+import io.quarkus.registry.catalog.PlatformStream;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,4 +46,74 @@ class PlatformServiceTest {
         assertThat(PlatformService.getStreamStatus("1.0.0-SP1-redhat-00001")).isEqualTo("SP1");
         assertThat(PlatformService.getStreamStatus("1.0.0-CR2-redhat-00001")).isEqualTo("CR2");
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldReuseAnUnchangedStream() throws IOException {
+        ExtensionCatalog catalog = fakeCatalog();
+        PlatformInfo existing = platformInfo(catalog);
+
+        assertThat(PlatformService.isUnchanged(existing, platform("5.5.0.1"), stream("5.5.0.1"), fakeCatalog()))
+                .isTrue();
+        assertThat(PlatformService.isUnchanged(existing, platform("5.5.0.2"), stream("5.5.0.2"), fakeCatalog()))
+                .isFalse();
+    }
+
+    @Test
+    void shouldReloadAStreamWhenANonPlatformExtensionIsReleased() throws IOException {
+        PlatformInfo existing = platformInfo(fakeCatalog());
+        ExtensionCatalog catalog = fakeCatalog();
+        ExtensionOrigin registry = ExtensionOrigin.builder()
+                .setId("io.quarkus.registry:quarkus-non-platform-extensions:5.5.0.1:json:1.0")
+                .build();
+        List<Extension> extensions = new ArrayList<>(catalog.getExtensions());
+        extensions.add(Extension.builder()
+                .setArtifact(ArtifactCoords.jar("io.quarkiverse.foo", "quarkus-foo", "1.0.0"))
+                .setName("Foo")
+                .setOrigins(List.of(registry))
+                .build());
+        ExtensionCatalog updated = catalog.mutable().setExtensions(extensions).build();
+
+        assertThat(PlatformService.isUnchanged(existing, platform("5.5.0.1"), stream("5.5.0.1"), updated)).isFalse();
+    }
+
+    @Test
+    void shouldSkipTheStreamsWithoutExtensionsOfASnapshot() throws Exception {
+        // The streams without any extension are not saved in the snapshots
+        PlatformCacheSnapshot snapshot = new PlatformCacheSnapshot(PlatformCatalog.builder().build(),
+                Map.of("io.quarkus.platform:5.5", fakeCatalog()));
+        PlatformService.ExtensionCatalogSource source = PlatformService.snapshotSource(snapshot);
+
+        assertThat(source.extensionCatalog("io.quarkus.platform:5.5", stream("5.5.0.1")).getExtensions()).isNotEmpty();
+        ExtensionCatalog empty = source.extensionCatalog("io.quarkus.platform:5.4", stream("5.4.0"));
+        assertThat(QuarkusExtensionUtils.processExtensions(empty, PlatformOverride.DEFAULT_PLATFORM_OVERRIDE)).isEmpty();
+    }
+
+    private static ExtensionCatalog fakeCatalog() throws IOException {
+        try (InputStream in = PlatformServiceTest.class.getResourceAsStream("/fakeextensions.json")) {
+            return ExtensionCatalog.fromStream(in);
+        }
+    }
+
+    private static PlatformInfo platformInfo(ExtensionCatalog catalog) {
+        return new PlatformInfo("io.quarkus.platform", Stream.builder().key("io.quarkus.platform:5.5").build(),
+                "5.5.0.1", "5.5.0.1", true, List.of(), catalog);
+    }
+
+    private static Platform platform(String version) {
+        return Platform.builder()
+                .setPlatformKey("io.quarkus.platform")
+                .setStreams(List.of(stream(version)))
+                .build();
+    }
+
+    private static PlatformStream stream(String version) {
+        return PlatformStream.builder()
+                .setId("5.5")
+                .setMetadata("lts", false)
+                .setReleases(List.of(PlatformRelease.builder()
+                        .setVersion(PlatformReleaseVersion.fromString(version))
+                        .setQuarkusCoreVersion("5.5.0.1")
+                        .build()))
+                .build();
+    }
+}
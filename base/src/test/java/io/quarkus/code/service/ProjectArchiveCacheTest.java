@@ -0,0 +1,114 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.ArchiveCacheConfig;
+import io.quarkus.code.model.ProjectDefinition;
+import io.quarkus.code.model.Stream;
+import io.quarkus.runtime.configuration.MemorySize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProjectArchiveCacheTest {
+
+    private static final PlatformInfo PLATFORM_INFO = new PlatformInfo("io.quarkus.platform",
+            Stream.builder()
+                    .key("io.quarkus.platform:3.0")
+                    .javaCompatibility(new Stream.JavaCompatibility(new TreeSet<>(List.of(17, 21)), 21))
+                    .build(),
+            "3.0.0", "3.0.0", true, List.of(), null);
+
+    private ProjectArchiveCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProjectArchiveCache();
+        cache.config = new ArchiveCacheConfig() {
+            @Override
+            public boolean enabled() {
+                return true;
+            }
+
+            @Override
+            public MemorySize maxSize() {
+                return new MemorySize(BigInteger.valueOf(10));
+            }
+
+            @Override
+            public MemorySize maxEntrySize() {
+                return new MemorySize(BigInteger.valueOf(5));
+            }
+
+            @Override
+            public boolean warmUp() {
+                return false;
+            }
+
+            @Override
+            public int warmUpTopConfigurations() {
+                return 0;
+            }
+        };
+        cache.invalidate("1");
+    }
+
+    @Test
+    void keyShouldBeCanonical() {
+        List<String> extensions = List.of("io.quarkus:quarkus-rest", "io.quarkus:quarkus-arc");
+        String key = cache.key(PLATFORM_INFO, ProjectDefinition.of(), extensions);
+        assertThat(cache.key(PLATFORM_INFO, ProjectDefinition.builder().build(),
+                Set.of("io.quarkus:quarkus-arc", "io.quarkus:quarkus-rest")))
+                .isEqualTo(key);
+        assertThat(cache.key(PLATFORM_INFO, ProjectDefinition.builder().javaVersion(21).build(), extensions))
+                .isEqualTo(key);
+        assertThat(cache.key(PLATFORM_INFO, ProjectDefinition.builder().artifactId("other").build(), extensions))
+                .isNotEqualTo(key);
+
+        cache.invalidate("2");
+        assertThat(cache.key(PLATFORM_INFO, ProjectDefinition.of(), extensions)).isNotEqualTo(key);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        long generation = cache.generation();
+        cache.put("a", new byte[4], generation);
+        cache.put("b", new byte[4], generation);
+        assertThat(cache.get("a")).isNotNull();
+        cache.put("c", new byte[4], generation);
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.size()).isEqualTo(8);
+    }
+
+    @Test
+    void shouldIgnoreTooBigAndStaleArchives() {
+        long generation = cache.generation();
+        cache.put("big", new byte[6], generation);
+        cache.invalidate("2");
+        cache.put("stale", new byte[4], generation);
+
+        assertThat(cache.get("big")).isNull();
+        assertThat(cache.get("stale")).isNull();
+        assertThat(cache.count()).isZero();
+    }
+
+    @Test
+    void shouldTrackMostPopularConfigurations() {
+        ProjectDefinition rest = ProjectDefinition.builder().extensions(Set.of("rest")).build();
+        ProjectDefinition kafka = ProjectDefinition.builder().extensions(Set.of("kafka")).build();
+        cache.recordRequest(rest);
+        cache.recordRequest(kafka);
+        cache.recordRequest(rest);
+        assertThat(cache.mostPopular(1)).containsExactly(rest);
+
+        cache.invalidate("2");
+        assertThat(cache.mostPopular(10)).containsExactly(rest);
+    }
+}
@@ -1,5 +1,6 @@
 package io.quarkus.code.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.code.config.CodeQuarkusConfig;
 import io.quarkus.code.misc.QuarkusProjectTestUtils;
 import io.quarkus.code.model.ProjectDefinition;
@@ -32,6 +33,7 @@ import static io.quarkus.devtools.testing.SnapshotTesting.assertThatDirectoryTre
 import static io.quarkus.devtools.testing.SnapshotTesting.assertThatMatchSnapshot;
 import static io.quarkus.devtools.testing.SnapshotTesting.checkContains;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @QuarkusTest
 public class QuarkusProjectServiceTest {
@@ -42,6 +44,15 @@ public class QuarkusProjectServiceTest {
     @Inject
     PlatformService platformService;
 
+    @Inject
+    QuarkusProjectService projectService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    ProjectArchiveCache archiveCache;
+
     @Test
     @DisplayName("When using default project, then, it should create the zip with all the files correctly with the requested content")
     void testDefaultZip(TestInfo info) throws Throwable {
@@ -357,6 +368,33 @@ public class QuarkusProjectServiceTest {
         System.out.println("done");
     }
 
+    @Test
+    void warmUpShouldNotBeReportedAsDownloads() throws Throwable {
+        long downloads = createCount("download");
+        long warmUps = createCount("warmup");
+
+        projectService.warmUpArchive(platformService.recommendedPlatformInfo(),
+                ProjectDefinition.builder().artifactId("warm-up-metrics").build());
+
+        assertThat(createCount("download")).isEqualTo(downloads);
+        assertThat(createCount("warmup")).isEqualTo(warmUps + 1);
+    }
+
+    @Test
+    void invalidProjectsShouldNotBeCountedAsRequests() {
+        ProjectDefinition invalid = ProjectDefinition.builder().artifactId("invalid-java-version").javaVersion(8).build();
+
+        assertThatThrownBy(() -> projectService.createArchive(platformService.recommendedPlatformInfo(), invalid))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(archiveCache.mostPopular(Integer.MAX_VALUE)).doesNotContain(invalid);
+    }
+
+    private long createCount(String origin) {
+        return registry.get("code.quarkus.generation.phase").tag("phase", "create").tag("origin", origin).timer()
+                .count();
+    }
+
     private QuarkusProjectService getProjectService() {
         return new QuarkusProjectService();
     }
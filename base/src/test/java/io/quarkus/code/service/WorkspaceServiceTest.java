@@ -0,0 +1,121 @@
+package io.quarkus.code.service;
+
+import io.quarkus.code.config.WorkspaceConfig;
+import io.quarkus.runtime.configuration.MemorySize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkspaceServiceTest {
+
+    private WorkspaceService workspaceService;
+
+    @BeforeEach
+    void setUp(@TempDir Path tmp) throws IOException {
+        workspaceService = new WorkspaceService();
+        workspaceService.config = config(Duration.ofMinutes(10), 1024);
+        workspaceService.init(tmp);
+    }
+
+    @Test
+    void closedWorkspaceShouldBeDeleted() throws IOException {
+        Path dir;
+        try (Workspace workspace = workspaceService.create()) {
+            dir = workspace.dir();
+            Files.writeString(dir.resolve("pom.xml"), "<project/>");
+            assertThat(workspaceService.activeWorkspaces()).isEqualTo(1);
+        }
+        assertThat(dir).doesNotExist();
+        assertThat(workspaceService.activeWorkspaces()).isZero();
+    }
+
+    @Test
+    void sweepShouldReclaimExpiredWorkspaces() throws IOException {
+        Workspace leaked = workspaceService.create();
+        Files.writeString(leaked.dir().resolve("pom.xml"), "<project/>");
+        leaked.detach();
+        Files.setLastModifiedTime(leaked.dir(), FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+        Workspace recent = workspaceService.create();
+
+        workspaceService.sweep();
+
+        assertThat(leaked.dir()).doesNotExist();
+        assertThat(recent.dir()).exists();
+        assertThat(workspaceService.reclaimedDirectories()).isEqualTo(1);
+        recent.close();
+    }
+
+    @Test
+    void sweepShouldReclaimIdleWorkspacesOverBudget() throws IOException {
+        Workspace active = workspaceService.create();
+        Files.write(active.dir().resolve("big"), new byte[2048]);
+        Path leaked = Files.createDirectory(active.dir().getParent().resolve("generated-leaked"));
+        Files.write(leaked.resolve("big"), new byte[2048]);
+
+        workspaceService.sweep();
+
+        assertThat(leaked).doesNotExist();
+        assertThat(active.dir()).exists();
+        assertThat(workspaceService.usedBytes()).isEqualTo(2048);
+        active.close();
+    }
+
+    @Test
+    void sweepShouldNotReclaimExpiredWorkspacesInUse() throws IOException {
+        Workspace inUse = workspaceService.create();
+        Files.writeString(inUse.dir().resolve("pom.xml"), "<project/>");
+        Files.setLastModifiedTime(inUse.dir(), FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+
+        workspaceService.sweep();
+
+        assertThat(inUse.dir().resolve("pom.xml")).exists();
+        inUse.close();
+        assertThat(inUse.dir()).doesNotExist();
+    }
+
+    @Test
+    void sweepShouldSkipTheWorkspacesDeletedWhileSweeping() throws IOException {
+        Workspace leaked = workspaceService.create();
+        leaked.detach();
+        Files.setLastModifiedTime(leaked.dir(), FileTime.from(Instant.now().minus(Duration.ofHours(1))));
+        // Its attributes can't be read, as for a workspace released while it is inspected
+        Path deleted = Files.createSymbolicLink(leaked.dir().resolveSibling("generated-deleted"),
+                leaked.dir().resolveSibling("generated-missing"));
+        try {
+            workspaceService.sweep();
+
+            assertThat(leaked.dir()).doesNotExist();
+        } finally {
+            Files.delete(deleted);
+        }
+    }
+
+    private static WorkspaceConfig config(Duration maxAge, long diskBudget) {
+        return new WorkspaceConfig() {
+            @Override
+            public String sweepEvery() {
+                return "1m";
+            }
+
+            @Override
+            public Duration maxAge() {
+                return maxAge;
+            }
+
+            @Override
+            public MemorySize diskBudget() {
+                return new MemorySize(BigInteger.valueOf(diskBudget));
+            }
+        };
+    }
+}
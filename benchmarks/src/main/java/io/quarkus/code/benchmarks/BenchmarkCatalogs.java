@@ -0,0 +1,211 @@
+package io.quarkus.code.benchmarks;
+
+import io.quarkus.code.misc.QuarkusExtensionUtils;
+import io.quarkus.code.model.CodeQuarkusExtension;
+import io.quarkus.code.model.Stream;
+import io.quarkus.code.service.PlatformInfo;
+import io.quarkus.code.service.PlatformOverride;
+import io.quarkus.maven.dependency.ArtifactCoords;
+import io.quarkus.registry.catalog.Category;
+import io.quarkus.registry.catalog.Extension;
+import io.quarkus.registry.catalog.ExtensionCatalog;
+import io.quarkus.registry.catalog.ExtensionOrigin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Offline catalogs used by the benchmarks, no registry access is needed.
+ */
+public final class BenchmarkCatalogs {
+
+    public static final String PLATFORM_KEY = "io.quarkus.platform";
+    public static final String STREAM_KEY = PLATFORM_KEY + ":5.5";
+
+    private static final String FAKE_CATALOG_JSON = "/fakeextensions.json";
+    private static final String CODESTARTS_ARTIFACTS = "codestarts-artifacts";
+    private static final String CODESTART = "codestart";
+    private static final String CODESTART_ARTIFACT = "artifact";
+    private static final List<String> SYNTHETIC_CATEGORIES = List.of("web", "data", "messaging", "core", "security",
+            "cloud", "observability", "serialization", "integration", "miscellaneous");
+    private static final List<String> SYNTHETIC_STATUSES = List.of("stable", "preview", "experimental");
+
+    private BenchmarkCatalogs() {
+    }
+
+    /**
+     * The catalog used by the base tests, its codestarts are replaced by the ones of the Quarkus version the
+     * benchmarks are built with (they are available in the local repository)
+     */
+    public static ExtensionCatalog fakeCatalog() {
+        try (InputStream in = BenchmarkCatalogs.class.getResourceAsStream(FAKE_CATALOG_JSON)) {
+            ExtensionCatalog catalog = ExtensionCatalog.fromStream(in);
+            String codestartsArtifact = "io.quarkus:quarkus-project-core-extension-codestarts::jar:" + quarkusVersion();
+            List<Extension> extensions = new ArrayList<>(catalog.getExtensions().size());
+            for (Extension extension : catalog.getExtensions()) {
+                extensions.add(withCodestartsArtifact(extension, codestartsArtifact));
+            }
+            return catalog.mutable()
+                    .setMetadata(CODESTARTS_ARTIFACTS, List.of(codestartsArtifact))
+                    .setExtensions(extensions)
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static PlatformInfo platformInfo(ExtensionCatalog catalog) {
+        List<CodeQuarkusExtension> extensions = QuarkusExtensionUtils.processExtensions(catalog,
+                PlatformOverride.DEFAULT_PLATFORM_OVERRIDE);
+        Stream stream = Stream.builder()
+                .key(STREAM_KEY)
+                .quarkusCoreVersion(catalog.getQuarkusCoreVersion())
+                .platformVersion(catalog.getQuarkusCoreVersion())
+                .javaCompatibility(new Stream.JavaCompatibility(new TreeSet<>(List.of(17, 21)), 21))
+                .recommended(true)
+                .build();
+        return new PlatformInfo(PLATFORM_KEY, stream, catalog.getQuarkusCoreVersion(), catalog.getQuarkusCoreVersion(),
+                true, extensions, catalog);
+    }
+
+    /**
+     * Synthetic extensions: io.quarkus platform extensions (even indexes) and non platform ones (odd indexes), every
+     * tenth platform extension has a non platform twin sharing its shortcut
+     *
+     * @see #coreId(int)
+     * @see #nonPlatformId(int)
+     * @see #twinId(int)
+     */
+    public static List<CodeQuarkusExtension> syntheticExtensions(int count) {
+        List<CodeQuarkusExtension> extensions = new ArrayList<>(count);
+        for (int i = 0; extensions.size() < count; i++) {
+            if (i % 2 == 1) {
+                extensions.add(syntheticExtension(nonPlatformId(i), false));
+                continue;
+            }
+            extensions.add(syntheticExtension(coreId(i), true));
+            if (i % 20 == 0 && extensions.size() < count) {
+                extensions.add(syntheticExtension(twinId(i), false));
+            }
+        }
+        return extensions;
+    }
+
+    /**
+     * Synthetic raw catalog shaped like a platform one (categories, keywords, status, support, dependencies and
+     * codestarts metadata), with a few unlisted extensions
+     */
+    public static ExtensionCatalog syntheticCatalog(int count) {
+        ArtifactCoords bom = ArtifactCoords.pom("io.quarkus.platform", "quarkus-bom", "5.5.0");
+        ExtensionOrigin origin = ExtensionOrigin.builder()
+                .setId("io.quarkus.platform:quarkus-bom-quarkus-platform-descriptor:5.5.0:json:5.5.0")
+                .setBom(bom)
+                .setPlatform(true)
+                .build();
+        List<Category> categories = new ArrayList<>(SYNTHETIC_CATEGORIES.size());
+        for (String category : SYNTHETIC_CATEGORIES) {
+            categories.add(Category.builder()
+                    .setId(category)
+                    .setName(category.substring(0, 1).toUpperCase() + category.substring(1))
+                    .build());
+        }
+        List<Extension> extensions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            extensions.add(syntheticRawExtension(i, origin));
+        }
+        return ExtensionCatalog.builder()
+                .setId(origin.getId())
+                .setBom(bom)
+                .setPlatform(true)
+                .setQuarkusCoreVersion("5.5.0")
+                .setCategories(categories)
+                .setExtensions(extensions)
+                .build();
+    }
+
+    public static PlatformInfo syntheticPlatformInfo(int count) {
+        Stream stream = Stream.builder()
+                .key(STREAM_KEY)
+                .javaCompatibility(new Stream.JavaCompatibility(new TreeSet<>(List.of(17, 21)), 21))
+                .recommended(true)
+                .build();
+        return new PlatformInfo(PLATFORM_KEY, stream, "5.5.0", "5.5.0", true, syntheticExtensions(count), null);
+    }
+
+    public static String coreId(int index) {
+        return "io.quarkus:quarkus-ext-" + index;
+    }
+
+    public static String nonPlatformId(int index) {
+        return "io.quarkiverse.ext" + index + ":quarkus-ext-" + index;
+    }
+
+    public static String twinId(int index) {
+        return "io.quarkiverse.twin" + index + ":quarkus-ext-" + index;
+    }
+
+    private static CodeQuarkusExtension syntheticExtension(String id, boolean platform) {
+        return CodeQuarkusExtension.builder()
+                .id(id)
+                .version("5.5.0")
+                .platform(platform)
+                .build();
+    }
+
+    private static Extension syntheticRawExtension(int index, ExtensionOrigin origin) {
+        String artifactId = "quarkus-ext-" + index;
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(Extension.MD_SHORT_NAME, "ext " + index);
+        metadata.put(Extension.MD_KEYWORDS, List.of("ext-" + index, "synthetic", "keyword-" + index % 50));
+        metadata.put(Extension.MD_CATEGORIES,
+                List.of(SYNTHETIC_CATEGORIES.get(index % SYNTHETIC_CATEGORIES.size())));
+        metadata.put(Extension.MD_STATUS, SYNTHETIC_STATUSES.get(index % SYNTHETIC_STATUSES.size()));
+        metadata.put(Extension.MD_GUIDE, "https://quarkus.io/guides/" + artifactId);
+        metadata.put("built-with-quarkus-core", "5.5.0");
+        if (index % 3 == 0) {
+            metadata.put("redhat-support", List.of("supported"));
+        }
+        if (index > 0) {
+            metadata.put("extension-dependencies",
+                    List.of("io.quarkus:quarkus-core", "io.quarkus:quarkus-ext-" + (index - 1)));
+        }
+        if (index % 5 == 0) {
+            metadata.put(CODESTART, Map.of("name", artifactId, "languages", List.of("java", "kotlin"),
+                    CODESTART_ARTIFACT, "io.quarkus:quarkus-project-core-extension-codestarts::jar:5.5.0"));
+        }
+        if (index % 50 == 49) {
+            metadata.put("unlisted", true);
+        }
+        return Extension.builder()
+                .setArtifact(ArtifactCoords.jar("io.quarkus", artifactId, "5.5.0"))
+                .setName("Extension " + index)
+                .setDescription("Synthetic extension number " + index)
+                .setMetadata(metadata)
+                .setOrigins(List.of(origin))
+                .build();
+    }
+
+    private static Extension withCodestartsArtifact(Extension extension, String codestartsArtifact) {
+        if (!(extension.getMetadata().get(CODESTART) instanceof Map<?, ?> codestart)) {
+            return extension;
+        }
+        Map<Object, Object> metadata = new HashMap<>(codestart);
+        metadata.put(CODESTART_ARTIFACT, codestartsArtifact);
+        return extension.mutable().setMetadata(CODESTART, metadata).build();
+    }
+
+    private static String quarkusVersion() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = BenchmarkCatalogs.class.getResourceAsStream("/benchmarks.properties")) {
+            properties.load(in);
+        }
+        return properties.getProperty("quarkus-version");
+    }
+}
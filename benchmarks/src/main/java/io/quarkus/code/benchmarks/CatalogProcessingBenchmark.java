@@ -0,0 +1,54 @@
+package io.quarkus.code.benchmarks;
+
+import io.quarkus.code.misc.QuarkusExtensionUtils;
+import io.quarkus.code.model.CodeQuarkusExtension;
+import io.quarkus.code.service.PlatformInfo;
+import io.quarkus.code.service.PlatformOverride;
+import io.quarkus.registry.catalog.ExtensionCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Processing of a stream catalog done on each platform reload ({@link QuarkusExtensionUtils#processExtensions} and
+ * the {@link PlatformInfo} indexes), run with {@code -prof gc} for the allocation per stream.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CatalogProcessingBenchmark {
+
+    @Param({ "500", "2000", "10000" })
+    int extensionCount;
+
+    private ExtensionCatalog catalog;
+
+    @Setup
+    public void setup() {
+        catalog = BenchmarkCatalogs.syntheticCatalog(extensionCount);
+    }
+
+    @Benchmark
+    public List<CodeQuarkusExtension> processExtensions() {
+        return QuarkusExtensionUtils.processExtensions(catalog, PlatformOverride.DEFAULT_PLATFORM_OVERRIDE);
+    }
+
+    @Benchmark
+    public PlatformInfo platformInfo() {
+        return BenchmarkCatalogs.platformInfo(catalog);
+    }
+}
@@ -0,0 +1,98 @@
+package io.quarkus.code.benchmarks;
+
+import io.quarkus.code.misc.QuarkusExtensionUtils;
+import io.quarkus.code.service.PlatformInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolution of the requested extensions ({@link PlatformInfo#checkAndMergeExtensions}, done for each download and
+ * each analytics event) with synthetic catalogs, run with {@code -prof gc} for the allocations per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtensionResolutionBenchmark {
+
+    @Param({ "200", "1000", "5000" })
+    int catalogSize;
+
+    private PlatformInfo platformInfo;
+    private Set<String> exactId;
+    private Set<String> shortcut;
+    private Set<String> artifactIdShortcut;
+    private Set<String> ambiguousCore;
+    private Set<String> invalidId;
+    private Set<String> typicalRequest;
+    private String shortcutCandidate;
+
+    @Setup
+    public void setup() {
+        platformInfo = BenchmarkCatalogs.syntheticPlatformInfo(catalogSize);
+        // Indexes in the middle of the catalog, twins only exist for multiples of 20
+        int index = catalogSize / 4 * 2 + 2;
+        int twinIndex = catalogSize / 40 * 20;
+        exactId = Set.of(BenchmarkCatalogs.coreId(index));
+        shortcut = Set.of("ext-" + index);
+        artifactIdShortcut = Set.of("quarkus-ext-" + (index + 1));
+        ambiguousCore = Set.of("ext-" + twinIndex);
+        invalidId = Set.of("io.acme:quarkus-unknown");
+        typicalRequest = Set.of(BenchmarkCatalogs.coreId(index), BenchmarkCatalogs.nonPlatformId(index + 1),
+                "ext-" + (index + 2), "quarkus-ext-" + (index + 4), "ext-" + twinIndex);
+        shortcutCandidate = BenchmarkCatalogs.nonPlatformId(index + 1);
+    }
+
+    @Benchmark
+    public Set<String> exactId() {
+        return platformInfo.checkAndMergeExtensions(exactId);
+    }
+
+    @Benchmark
+    public Set<String> shortcut() {
+        return platformInfo.checkAndMergeExtensions(shortcut);
+    }
+
+    @Benchmark
+    public Set<String> artifactIdShortcut() {
+        return platformInfo.checkAndMergeExtensions(artifactIdShortcut);
+    }
+
+    @Benchmark
+    public Set<String> ambiguousCore() {
+        return platformInfo.checkAndMergeExtensions(ambiguousCore);
+    }
+
+    @Benchmark
+    public Object invalidId() {
+        try {
+            return platformInfo.checkAndMergeExtensions(invalidId);
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Set<String> typicalRequest() {
+        return platformInfo.checkAndMergeExtensions(typicalRequest);
+    }
+
+    @Benchmark
+    public String toShortcut() {
+        return QuarkusExtensionUtils.toShortcut(shortcutCandidate);
+    }
+}
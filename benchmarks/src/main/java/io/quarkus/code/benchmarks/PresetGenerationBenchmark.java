@@ -0,0 +1,62 @@
+package io.quarkus.code.benchmarks;
+
+import io.quarkus.code.model.Preset;
+import io.quarkus.code.model.ProjectDefinition;
+import io.quarkus.code.service.PlatformInfo;
+import io.quarkus.code.service.PlatformService;
+import io.quarkus.code.service.QuarkusProjectService;
+import io.quarkus.devtools.commands.data.QuarkusCommandException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of the zip of each {@link PlatformService#DEFAULT_PRESETS} available in the offline catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PresetGenerationBenchmark {
+
+    @Param({ "rest-service", "db-service", "event-driven-kafka", "cli" })
+    String preset;
+
+    private final QuarkusProjectService projectService = new QuarkusProjectService();
+    private PlatformInfo platformInfo;
+    private ProjectDefinition projectDefinition;
+
+    @Setup
+    public void setup() {
+        platformInfo = BenchmarkCatalogs.platformInfo(BenchmarkCatalogs.fakeCatalog());
+        // Some presets have a variant for the platforms before the Big Reactive Renaming
+        Preset found = PlatformService.DEFAULT_PRESETS.stream()
+                .filter(p -> p.key().equals(preset))
+                .filter(p -> platformInfo.extensionsById().keySet().containsAll(p.extensions()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Preset not available in the catalog: " + preset));
+        projectDefinition = ProjectDefinition.builder()
+                .streamKey(BenchmarkCatalogs.STREAM_KEY)
+                .extensions(new HashSet<>(found.extensions()))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] create() throws IOException, QuarkusCommandException {
+        return projectService.create(platformInfo, projectDefinition);
+    }
+}
@@ -0,0 +1,105 @@
+package io.quarkus.code.benchmarks;
+
+import io.quarkus.code.model.CodeQuarkusExtension;
+import io.quarkus.code.model.ProjectDefinition;
+import io.quarkus.code.service.PlatformInfo;
+import io.quarkus.code.service.QuarkusProjectService;
+import io.quarkus.devtools.commands.data.QuarkusCommandException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Generation of a project ({@link QuarkusProjectService#create} for the zip and
+ * {@link QuarkusProjectService#createTmp} for the directory), run with {@code -prof gc} for the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProjectGenerationBenchmark {
+
+    @Param({ "MAVEN", "GRADLE", "GRADLE_KOTLIN_DSL" })
+    String buildTool;
+
+    @Param({ "0", "5", "20" })
+    int extensionCount;
+
+    @Param({ "false", "true" })
+    boolean noCode;
+
+    private final QuarkusProjectService projectService = new QuarkusProjectService();
+    private final List<Path> generated = new ArrayList<>();
+    private PlatformInfo platformInfo;
+    private ProjectDefinition projectDefinition;
+
+    @Setup
+    public void setup() {
+        platformInfo = BenchmarkCatalogs.platformInfo(BenchmarkCatalogs.fakeCatalog());
+        projectDefinition = ProjectDefinition.builder()
+                .streamKey(BenchmarkCatalogs.STREAM_KEY)
+                .buildTool(buildTool)
+                .noCode(noCode)
+                .extensions(javaExtensions(platformInfo).stream().limit(extensionCount).collect(Collectors.toSet()))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] create() throws IOException, QuarkusCommandException {
+        return projectService.create(platformInfo, projectDefinition);
+    }
+
+    @Benchmark
+    public Path createTmp() throws IOException, QuarkusCommandException {
+        Path location = projectService.createTmp(platformInfo, projectDefinition, false, true);
+        generated.add(location.getParent());
+        return location;
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteGenerated() throws IOException {
+        for (Path dir : generated) {
+            delete(dir);
+        }
+        generated.clear();
+    }
+
+    private static List<String> javaExtensions(PlatformInfo platformInfo) {
+        return platformInfo.codeQuarkusExtensions().stream()
+                .map(CodeQuarkusExtension::id)
+                .filter(id -> !id.startsWith("io.quarkus:quarkus-kotlin") && !id.startsWith("io.quarkus:quarkus-scala"))
+                .toList();
+    }
+
+    private static void delete(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (var paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}